@@ -0,0 +1,98 @@
+package com.philvigus.dbentityfactories.benchmarks;
+
+import com.philvigus.dbentityfactories.DbEntityFactoriesApplication;
+import com.philvigus.dbentityfactories.examples.repositories.NewUserRepository;
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.BasicEntityHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ChildEntityHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.EntityWithUniqueAttributesHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ParentEntityHibernateRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly the factories used by this library's tests create and persist entities against an in-memory
+ * H2 database.
+ * <p>
+ * Run with {@code ./mvnw -P benchmarks test-compile exec:exec}. The gc profiler is enabled by default to report
+ * allocation rates; pass {@code -Djmh.args="..."} to change the JMH options. Scores are per batch, so the per-entity
+ * latency is the average time divided by the batch size, and the entity rate is reported by the {@code entities}
+ * counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityFactoryBenchmark {
+    @Param({
+            "basicEntityHibernateFactory",
+            "newUserFactory",
+            "childEntityHibernateFactory",
+            "entityWithUniqueAttributesHibernateFactory",
+            "basicEntityJdbcFactory"
+    })
+    public String factoryName;
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BaseEntityFactory<?> factory;
+
+    /**
+     * Counts the entities produced so that JMH reports an entity rate alongside the batch rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EntityCounter {
+        public long entities;
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DbEntityFactoriesApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+
+        factory = context.getBean(factoryName, BaseEntityFactory.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearDatabase() {
+        context.getBean(ChildEntityHibernateRepository.class).deleteAllInBatch();
+        context.getBean(ParentEntityHibernateRepository.class).deleteAllInBatch();
+        context.getBean(BasicEntityHibernateRepository.class).deleteAllInBatch();
+        context.getBean(EntityWithUniqueAttributesHibernateRepository.class).deleteAllInBatch();
+        context.getBean(NewUserRepository.class).deleteAllInBatch();
+
+        factory.clearAllUsedAttributeValues();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void create(final EntityCounter counter, final Blackhole blackhole) {
+        blackhole.consume(factory.create(batchSize));
+
+        counter.entities += batchSize;
+    }
+
+    @Benchmark
+    public void persist(final EntityCounter counter, final Blackhole blackhole) {
+        blackhole.consume(factory.persist(batchSize));
+
+        counter.entities += batchSize;
+    }
+}
@@ -1,10 +1,18 @@
 package com.philvigus.dbentityfactories.attributes;
 
+import com.philvigus.dbentityfactories.attributes.uniqueness.CollisionStatistics;
+import com.philvigus.dbentityfactories.attributes.uniqueness.ConcurrentUniquenessTracker;
+import com.philvigus.dbentityfactories.attributes.uniqueness.ExhaustionPolicy;
+import com.philvigus.dbentityfactories.attributes.uniqueness.UniqueGenerator;
+import com.philvigus.dbentityfactories.attributes.uniqueness.UniquenessTracker;
+import com.philvigus.dbentityfactories.attributes.uniqueness.UntrackedUniquenessTracker;
 import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.jfr.UniqueValueRetryEvent;
+import com.philvigus.dbentityfactories.seeding.SeededSupplier;
 import lombok.Getter;
+import net.datafaker.Faker;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -23,20 +31,75 @@ public class DefaultAttribute<T> extends BaseAttribute<T> {
 
     private final boolean isUnique;
 
-    private final Set<T> usedValues;
+    private final UniquenessTracker<T> uniquenessTracker;
+
+    private final UniqueGenerator<T> uniqueGenerator;
+
+    private final ExhaustionPolicy<T> exhaustionPolicy;
+
+    private final CollisionStatistics collisionStatistics = new CollisionStatistics();
 
     /**
-     * Instantiates a new Default attribute.
+     * Instantiates a new Default attribute. Unique attributes keep calling their supplier until they find an unused
+     * value or run out of attempts.
      *
      * @param name          the attribute name
      * @param valueSupplier the value supplier used to generate the attribute value
      * @param isUnique      sets whether the attribute values have to be unique
      */
     public DefaultAttribute(final String name, final Supplier<T> valueSupplier, final boolean isUnique) {
-        super(name, valueSupplier);
+        this(name, valueSupplier, isUnique, new ConcurrentUniquenessTracker<>(), null, ExhaustionPolicy.none());
+    }
 
-        this.isUnique = isUnique;
-        this.usedValues = new HashSet<>();
+    /**
+     * Instantiates a new unique Default attribute that tracks its used values with the given tracker.
+     *
+     * @param name              the attribute name
+     * @param valueSupplier     the value supplier used to generate the attribute value
+     * @param uniquenessTracker the tracker used to record the values that have been used
+     */
+    public DefaultAttribute(final String name, final Supplier<T> valueSupplier, final UniquenessTracker<T> uniquenessTracker) {
+        this(name, valueSupplier, true, uniquenessTracker, null, ExhaustionPolicy.none());
+    }
+
+    /**
+     * Instantiates a new unique Default attribute with the given policy for when its values look exhausted.
+     *
+     * @param name             the attribute name
+     * @param valueSupplier    the value supplier used to generate the attribute value
+     * @param exhaustionPolicy the policy for when the values look exhausted
+     */
+    public DefaultAttribute(final String name, final Supplier<T> valueSupplier, final ExhaustionPolicy<T> exhaustionPolicy) {
+        this(name, valueSupplier, new ConcurrentUniquenessTracker<>(), exhaustionPolicy);
+    }
+
+    /**
+     * Instantiates a new unique Default attribute that tracks its used values with the given tracker, with the given
+     * policy for when its values look exhausted.
+     *
+     * @param name              the attribute name
+     * @param valueSupplier     the value supplier used to generate the attribute value
+     * @param uniquenessTracker the tracker used to record the values that have been used
+     * @param exhaustionPolicy  the policy for when the values look exhausted
+     */
+    public DefaultAttribute(
+            final String name,
+            final Supplier<T> valueSupplier,
+            final UniquenessTracker<T> uniquenessTracker,
+            final ExhaustionPolicy<T> exhaustionPolicy) {
+        this(name, valueSupplier, true, uniquenessTracker, null, exhaustionPolicy);
+    }
+
+    /**
+     * Instantiates a new unique Default attribute whose values come from a generator that makes them unique by
+     * construction, so no used values are recorded and no value ever needs to be retried. Values given by custom
+     * attributes are not checked against the generated values.
+     *
+     * @param name            the attribute name
+     * @param uniqueGenerator the generator used to generate the attribute value
+     */
+    public DefaultAttribute(final String name, final UniqueGenerator<T> uniqueGenerator) {
+        this(name, uniqueGenerator::next, true, new UntrackedUniquenessTracker<>(), uniqueGenerator, ExhaustionPolicy.none());
     }
 
     /**
@@ -49,6 +112,34 @@ public class DefaultAttribute<T> extends BaseAttribute<T> {
         this(name, valueSupplier, false);
     }
 
+    /**
+     * Creates a default attribute whose values come from a Faker seeded by the entity being populated, so that a
+     * factory given a seed with {@code setSeed} always produces the same values.
+     *
+     * @param <T>       the type of the attribute value
+     * @param name      the attribute name
+     * @param generator generates the attribute value from a Faker
+     * @return the default attribute
+     */
+    public static <T> DefaultAttribute<T> seeded(final String name, final Function<Faker, T> generator) {
+        return new DefaultAttribute<>(name, new SeededSupplier<>(name, generator));
+    }
+
+    private DefaultAttribute(
+            final String name,
+            final Supplier<T> valueSupplier,
+            final boolean isUnique,
+            final UniquenessTracker<T> uniquenessTracker,
+            final UniqueGenerator<T> uniqueGenerator,
+            final ExhaustionPolicy<T> exhaustionPolicy) {
+        super(name, valueSupplier);
+
+        this.isUnique = isUnique;
+        this.uniquenessTracker = uniquenessTracker;
+        this.uniqueGenerator = uniqueGenerator;
+        this.exhaustionPolicy = exhaustionPolicy;
+    }
+
     /**
      * Returns whether a value has already been used for this attribute.
      *
@@ -57,20 +148,22 @@ public class DefaultAttribute<T> extends BaseAttribute<T> {
      */
     public boolean hasUsedValue(final Object value) {
         try {
-            return usedValues.contains((T) value);
+            return uniquenessTracker.isClaimed((T) value);
         } catch (ClassCastException e) {
             throw new EntityFactoryException("Unable to check whether value is used as it is of the wrong type", e);
         }
     }
 
     /**
-     * Adds a value to the used value list.
+     * Adds a value to the used value list. Checking and adding the value is atomic, so if two threads add the same
+     * value only one of them will be told it was added.
      *
      * @param value the value to be added
+     * @return whether the value was added, i.e. it hadn't been used already
      */
-    public void addUsedValue(final Object value) {
+    public boolean addUsedValue(final Object value) {
         try {
-            usedValues.add((T) value);
+            return uniquenessTracker.tryClaim((T) value);
         } catch (ClassCastException e) {
             throw new EntityFactoryException("Unable to add value as it is of the wrong type", e);
         }
@@ -87,21 +180,42 @@ public class DefaultAttribute<T> extends BaseAttribute<T> {
 
     @Override
     public T getValue() {
+        if (uniqueGenerator != null) {
+            return uniqueGenerator.next();
+        }
+
         return isUnique() ? getUniqueValue() : valueSupplier.get();
     }
 
     /**
-     * Clears the list of values used for this entity.
+     * Clears the list of values used for this entity and its collision statistics, and resets its unique generator if
+     * it has one.
      */
     public void clearUsedValues() {
-        usedValues.clear();
+        uniquenessTracker.clear();
+        collisionStatistics.reset();
+
+        if (uniqueGenerator != null) {
+            uniqueGenerator.reset();
+        }
     }
 
     private T getUniqueValue() {
+        final UniqueValueRetryEvent event = new UniqueValueRetryEvent();
         T value;
         int attempts = 0;
+        boolean fallingBack = false;
+
+        event.begin();
 
         do {
+            // stop calling the supplier as soon as its values look exhausted, rather than using up every attempt
+            if (!fallingBack && exhaustionPolicy.hasFallback()
+                    && (attempts == DefaultAttribute.MAX_UNIQUE_ATTEMPTS || exhaustionPolicy.isExhausted(collisionStatistics))) {
+                fallingBack = true;
+                attempts = 0;
+            }
+
             // bail out and throw an error after a set number of attempts to find a unique value
             if (attempts == DefaultAttribute.MAX_UNIQUE_ATTEMPTS) {
                 throw new EntityFactoryException(String.format(
@@ -111,12 +225,37 @@ public class DefaultAttribute<T> extends BaseAttribute<T> {
                 );
             }
 
-            value = valueSupplier.get();
+            if (!fallingBack && exhaustionPolicy.isExhausted(collisionStatistics)) {
+                throw new EntityFactoryException(String.format(
+                        "Values for attribute %s look exhausted: %d attempts found %d distinct values and %.0f%% of recent attempts collided with a used value",
+                        getName(),
+                        collisionStatistics.getAttempts(),
+                        collisionStatistics.getUsedCount(),
+                        collisionStatistics.getCollisionRate() * 100)
+                );
+            }
+
+            value = fallingBack ? exhaustionPolicy.applyFallback(valueSupplier.get()) : valueSupplier.get();
             attempts++;
-        } while (usedValues.contains(value));
+        } while (!tryClaim(value, fallingBack));
 
-        usedValues.add(value);
+        if (attempts > 1 && event.shouldCommit()) {
+            event.setAttributeName(getName());
+            event.setAttempts(attempts);
+            event.commit();
+        }
 
         return value;
     }
+
+    private boolean tryClaim(final T value, final boolean fallingBack) {
+        final boolean claimed = uniquenessTracker.tryClaim(value);
+
+        // the fallback's values say nothing about how exhausted the supplier is
+        if (!fallingBack) {
+            collisionStatistics.recordAttempt(!claimed);
+        }
+
+        return claimed;
+    }
 }
@@ -0,0 +1,170 @@
+package com.philvigus.dbentityfactories.attributes;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A supplier that generates values from an expensive supplier ahead of time on a background thread, so that the cost
+ * of generating them overlaps with creating and persisting entities rather than adding to it.
+ * <p>
+ * Values are held in a bounded buffer, which the background thread stops filling while it is full. Taking a value
+ * never waits for the background thread: when the buffer is empty the value is generated inline instead. The
+ * background thread is a daemon thread started the first time a value is needed, and is stopped by {@link #close()}.
+ * <p>
+ * The wrapped supplier is called from both the background thread and the threads taking values, so it must be safe
+ * to call from multiple threads. Prefetched values are generated before the entity they end up in is known, so they
+ * don't follow a factory's seed.
+ *
+ * @param <T> the type of the values
+ */
+public final class PrefetchingSupplier<T> implements Supplier<T>, AutoCloseable {
+    /**
+     * The default number of values generated ahead of time.
+     */
+    public static final int DEFAULT_CAPACITY = 1_024;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Stands in for null values, which can't be held in the buffer.
+     */
+    private static final Object NULL = new Object();
+
+    private final Supplier<T> supplier;
+
+    private final BlockingQueue<Object> buffer;
+
+    private final LongAdder prefetchedCount = new LongAdder();
+
+    private final LongAdder inlineCount = new LongAdder();
+
+    private volatile Thread producer;
+
+    private volatile boolean closed;
+
+    private PrefetchingSupplier(final Supplier<T> supplier, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+
+        this.supplier = supplier;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Wraps a supplier, generating up to {@value #DEFAULT_CAPACITY} values ahead of time.
+     *
+     * @param <T>      the type of the values
+     * @param supplier the supplier to generate the values with
+     * @return the prefetching supplier
+     */
+    public static <T> PrefetchingSupplier<T> of(final Supplier<T> supplier) {
+        return of(supplier, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Wraps a supplier, generating a number of values ahead of time.
+     *
+     * @param <T>      the type of the values
+     * @param supplier the supplier to generate the values with
+     * @param capacity the maximum number of values generated ahead of time
+     * @return the prefetching supplier
+     */
+    public static <T> PrefetchingSupplier<T> of(final Supplier<T> supplier, final int capacity) {
+        return new PrefetchingSupplier<>(supplier, capacity);
+    }
+
+    /**
+     * Takes a value generated ahead of time, or generates one inline if there aren't any.
+     *
+     * @return the value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (producer == null && !closed) {
+            startProducer();
+        }
+
+        final Object value = buffer.poll();
+
+        if (value == null) {
+            inlineCount.increment();
+
+            return supplier.get();
+        }
+
+        prefetchedCount.increment();
+
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * Gets the number of values taken that had been generated ahead of time.
+     *
+     * @return the prefetched count
+     */
+    public long getPrefetchedCount() {
+        return prefetchedCount.sum();
+    }
+
+    /**
+     * Gets the number of values generated inline because none had been generated ahead of time.
+     *
+     * @return the inline count
+     */
+    public long getInlineCount() {
+        return inlineCount.sum();
+    }
+
+    /**
+     * Gets the number of values currently generated ahead of time.
+     *
+     * @return the buffered count
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops the background thread and discards any values generated ahead of time. Values are generated inline from
+     * then on.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+
+        if (producer != null) {
+            producer.interrupt();
+        }
+
+        buffer.clear();
+    }
+
+    private synchronized void startProducer() {
+        if (producer != null || closed) {
+            return;
+        }
+
+        producer = new Thread(this::prefetch, "db-entity-factories-prefetch-" + THREAD_COUNT.incrementAndGet());
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void prefetch() {
+        try {
+            while (!closed) {
+                final T value = supplier.get();
+
+                buffer.put(value == null ? NULL : value);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // stop prefetching and leave the supplier to fail again inline, where the caller will see the exception
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.philvigus.dbentityfactories.attributes;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A supplier that generates a fixed number of distinct values once, then samples every value from them.
+ * <p>
+ * Many attributes, such as first names or cities, don't need a new Faker call for every entity, and realistic data
+ * often has a limited number of distinct values anyway. A dictionary turns the cost of each value into a random array
+ * lookup, and can be shared between attributes and factories:
+ *
+ * <pre>{@code
+ * ValueDictionary<String> cities = ValueDictionary.zipf(() -> faker.get().address().city(), 500, 1.0);
+ *
+ * new DefaultAttribute<>("city", cities)
+ * }</pre>
+ * <p>
+ * Values are sampled with the alias method, so sampling takes the same time whatever the size of the dictionary and
+ * its distribution.
+ * <p>
+ * Sampling follows the seed of the factory using the dictionary, so a seeded factory samples the same values for the
+ * same entities and attributes every time. The dictionary's values themselves are only reproducible if its supplier
+ * is, for example a supplier using a Faker with a fixed seed.
+ *
+ * @param <T> the type of the values
+ */
+public final class ValueDictionary<T> implements Supplier<T> {
+    /**
+     * The number of times more values than the dictionary's size that will be generated while looking for distinct
+     * values, before giving up.
+     */
+    private static final int GENERATION_ATTEMPTS_PER_VALUE = 10;
+
+    private final Supplier<T> supplier;
+
+    private final double[] weights;
+
+    private volatile Entries<T> entries;
+
+    private ValueDictionary(final Supplier<T> supplier, final double[] weights) {
+        this.supplier = supplier;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a dictionary that samples its values uniformly.
+     *
+     * @param <T>      the type of the values
+     * @param supplier generates the values
+     * @param size     the number of distinct values
+     * @return the dictionary
+     */
+    public static <T> ValueDictionary<T> uniform(final Supplier<T> supplier, final int size) {
+        checkSize(size);
+
+        final double[] weights = new double[size];
+
+        Arrays.fill(weights, 1);
+
+        return new ValueDictionary<>(supplier, weights);
+    }
+
+    /**
+     * Creates a dictionary that samples its values following Zipf's law, where the value of rank {@code k} is sampled in
+     * proportion to {@code 1 / k^exponent}. An exponent of around 1 gives the long tail seen in names and places.
+     *
+     * @param <T>      the type of the values
+     * @param supplier generates the values
+     * @param size     the number of distinct values
+     * @param exponent the exponent, with 0 giving a uniform distribution and higher values a steeper one
+     * @return the dictionary
+     */
+    public static <T> ValueDictionary<T> zipf(final Supplier<T> supplier, final int size, final double exponent) {
+        checkSize(size);
+
+        if (!(exponent >= 0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("exponent must be finite and not negative");
+        }
+
+        final double[] weights = new double[size];
+
+        for (int rank = 1; rank <= size; rank++) {
+            weights[rank - 1] = 1 / Math.pow(rank, exponent);
+        }
+
+        return new ValueDictionary<>(supplier, weights);
+    }
+
+    /**
+     * Creates a dictionary with one value per weight, sampling each value in proportion to its weight.
+     *
+     * @param <T>      the type of the values
+     * @param supplier generates the values
+     * @param weights  the weight of each value
+     * @return the dictionary
+     */
+    public static <T> ValueDictionary<T> weighted(final Supplier<T> supplier, final double... weights) {
+        checkSize(weights.length);
+
+        double total = 0;
+
+        for (final double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and not negative");
+            }
+
+            total += weight;
+        }
+
+        if (total == 0) {
+            throw new IllegalArgumentException("at least one weight must be greater than 0");
+        }
+
+        return new ValueDictionary<>(supplier, weights.clone());
+    }
+
+    /**
+     * Samples a value from the dictionary, generating the dictionary's values first if they haven't been already.
+     *
+     * @return the value
+     */
+    @Override
+    public T get() {
+        return getEntries().sample();
+    }
+
+    /**
+     * Gets the dictionary's values, generating them first if they haven't been already. Values are ordered by rank,
+     * so for a Zipf dictionary the first value is the most common.
+     *
+     * @return the unmodifiable list of values
+     */
+    public List<T> getValues() {
+        return getEntries().valueList;
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary.
+     *
+     * @return the size
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    private Entries<T> getEntries() {
+        Entries<T> current = entries;
+
+        if (current == null) {
+            synchronized (this) {
+                current = entries;
+
+                if (current == null) {
+                    current = new Entries<>(generateValues(), weights);
+                    entries = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private List<T> generateValues() {
+        final Set<T> values = new LinkedHashSet<>();
+        final long maxAttempts = (long) weights.length * GENERATION_ATTEMPTS_PER_VALUE;
+
+        for (long attempt = 0; attempt < maxAttempts && values.size() < weights.length; attempt++) {
+            values.add(supplier.get());
+        }
+
+        if (values.size() < weights.length) {
+            throw new EntityFactoryException(String.format(
+                    "Unable to generate %d distinct dictionary values, only found %d", weights.length, values.size()));
+        }
+
+        return new ArrayList<>(values);
+    }
+
+    private static void checkSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+    }
+
+    /**
+     * The generated values along with the alias table used to sample them.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Entries<T> {
+        private final Object[] values;
+
+        private final List<T> valueList;
+
+        private final double[] probabilities;
+
+        private final int[] aliases;
+
+        private Entries(final List<T> valueList, final double[] weights) {
+            final int size = weights.length;
+
+            this.values = valueList.toArray();
+            this.valueList = Collections.unmodifiableList(valueList);
+            this.probabilities = new double[size];
+            this.aliases = new int[size];
+
+            double total = 0;
+
+            for (final double weight : weights) {
+                total += weight;
+            }
+
+            // Vose's alias method: split the weights into columns of equal height, each holding at most two values
+            final double[] scaled = new double[size];
+            final Deque<Integer> small = new ArrayDeque<>();
+            final Deque<Integer> large = new ArrayDeque<>();
+
+            for (int i = 0; i < size; i++) {
+                scaled[i] = weights[i] * size / total;
+                (scaled[i] < 1 ? small : large).push(i);
+            }
+
+            while (!small.isEmpty() && !large.isEmpty()) {
+                final int less = small.pop();
+                final int more = large.pop();
+
+                probabilities[less] = scaled[less];
+                aliases[less] = more;
+                scaled[more] = scaled[more] + scaled[less] - 1;
+                (scaled[more] < 1 ? small : large).push(more);
+            }
+
+            // anything left over is only short of a full column because of rounding
+            while (!large.isEmpty()) {
+                probabilities[large.pop()] = 1;
+            }
+
+            while (!small.isEmpty()) {
+                probabilities[small.pop()] = 1;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T sample() {
+            final Random random = SeedContext.getAttributeRandom();
+            final int column = random.nextInt(values.length);
+
+            return (T) values[random.nextDouble() < probabilities[column] ? column : aliases[column]];
+        }
+    }
+}
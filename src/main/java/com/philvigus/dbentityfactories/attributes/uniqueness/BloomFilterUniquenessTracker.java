@@ -0,0 +1,213 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A memory-bounded uniqueness tracker for attributes with large values, such as long strings.
+ * <p>
+ * Rather than keeping each value, candidates are screened with a Bloom filter sized from the number of values
+ * expected, which takes around 10 bits per value for a 1% false positive probability. By default the filter is
+ * trusted, so a value it reports as possibly used is rejected.
+ * <p>
+ * Alternatively, a value the filter reports as possibly used can be confirmed by checking its 64-bit fingerprint
+ * against the fingerprints of every claimed value. A fingerprint has to be kept for every value claimed, because any
+ * of them may later be hit by the filter, so this costs the memory of a {@link LongHashUniquenessTracker} on top of
+ * the filter. It is an exactness option rather than a memory saving.
+ * <p>
+ * A value that has been claimed is always reported as used, so neither confirmation mode can produce duplicates. They
+ * only differ in how often an unused value is wrongly reported as used, which costs a retry: with the filter alone
+ * this happens at around the false positive probability, once the expected number of values has been claimed, and with
+ * fingerprint confirmation only when two values share a fingerprint. Attributes with a small pool of possible values
+ * should be confirmed with fingerprints, so that the values are not exhausted by false positives.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class BloomFilterUniquenessTracker<T> implements UniquenessTracker<T> {
+    /**
+     * How values reported as possibly used by the filter are confirmed.
+     */
+    public enum Confirmation {
+        /**
+         * Trust the filter, rejecting every value it reports as possibly used.
+         */
+        NONE,
+
+        /**
+         * Check the value's fingerprint against the fingerprints of every claimed value, keeping a fingerprint for
+         * every value claimed.
+         */
+        FINGERPRINT
+    }
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashFunctionCount;
+
+    private final LongHashUniquenessTracker<Long> fingerprints;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final AtomicBoolean nullClaimed = new AtomicBoolean();
+
+    /**
+     * Instantiates a new Bloom filter uniqueness tracker that trusts the filter, keeping no fingerprints.
+     *
+     * @param expectedCount            the number of values expected to be claimed
+     * @param falsePositiveProbability the probability of the filter wrongly reporting a value as possibly used once the
+     *                                 expected number of values have been claimed
+     */
+    public BloomFilterUniquenessTracker(final long expectedCount, final double falsePositiveProbability) {
+        this(expectedCount, falsePositiveProbability, Confirmation.NONE);
+    }
+
+    /**
+     * Instantiates a new Bloom filter uniqueness tracker.
+     *
+     * @param expectedCount            the number of values expected to be claimed
+     * @param falsePositiveProbability the probability of the filter wrongly reporting a value as possibly used once the
+     *                                 expected number of values have been claimed
+     * @param confirmation             how values reported as possibly used are confirmed
+     */
+    public BloomFilterUniquenessTracker(
+            final long expectedCount,
+            final double falsePositiveProbability,
+            final Confirmation confirmation) {
+        if (expectedCount < 1) {
+            throw new IllegalArgumentException("expectedCount must be greater than 0");
+        }
+
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+
+        // the optimal number of bits and hash functions for the expected count and false positive probability
+        final double optimalBits = -expectedCount * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        final long words = Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE));
+
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("expectedCount is too large for the falsePositiveProbability");
+        }
+
+        this.bits = new AtomicLongArray((int) words);
+        this.bitCount = words * Long.SIZE;
+        this.hashFunctionCount = Math.max(1, (int) Math.round(optimalBits / expectedCount * Math.log(2)));
+        this.fingerprints = confirmation == Confirmation.FINGERPRINT ? new LongHashUniquenessTracker<>() : null;
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public boolean tryClaim(final T value) {
+        if (value == null) {
+            return nullClaimed.compareAndSet(false, true);
+        }
+
+        final long fingerprint = Fingerprints.of(value);
+
+        // claims of the same value always lock the same stripe, so the filter's check and set is atomic for each value
+        synchronized (locks[(int) (fingerprint >>> 58)]) {
+            final long hash = Fingerprints.mix(fingerprint);
+
+            if (mightContain(hash)) {
+                if (fingerprints == null) {
+                    return false;
+                }
+
+                return fingerprints.tryClaimLong(fingerprint);
+            }
+
+            for (int i = 0; i < hashFunctionCount; i++) {
+                setBit(getBitIndex(hash, i));
+            }
+
+            if (fingerprints != null) {
+                fingerprints.tryClaimLong(fingerprint);
+            }
+
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        if (value == null) {
+            return nullClaimed.get();
+        }
+
+        final long fingerprint = Fingerprints.of(value);
+
+        if (!mightContain(Fingerprints.mix(fingerprint))) {
+            return false;
+        }
+
+        return fingerprints == null || fingerprints.isClaimedLong(fingerprint);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+
+        if (fingerprints != null) {
+            fingerprints.clear();
+        }
+
+        nullClaimed.set(false);
+    }
+
+    /**
+     * Gets the number of bits in the filter.
+     *
+     * @return the bit count
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Gets the number of bits set in the filter for each value.
+     *
+     * @return the hash function count
+     */
+    public int getHashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    private boolean mightContain(final long hash) {
+        for (int i = 0; i < hashFunctionCount; i++) {
+            final long bitIndex = getBitIndex(hash, i);
+
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long getBitIndex(final long hash, final int hashFunction) {
+        // derive each hash function from the two halves of a remixed fingerprint, so the bits chosen are independent
+        // of the fingerprint's top bits, which choose the lock stripe
+        final long combinedHash = (hash & 0xffffffffL) + hashFunction * (hash >>> 32);
+
+        return (combinedHash & Long.MAX_VALUE) % bitCount;
+    }
+
+    private void setBit(final long bitIndex) {
+        final int word = (int) (bitIndex >>> 6);
+        final long bit = 1L << bitIndex;
+        long current;
+
+        do {
+            current = bits.get(word);
+        } while ((current & bit) == 0 && !bits.compareAndSet(word, current, current | bit));
+    }
+}
@@ -0,0 +1,154 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics on how often the values generated for a unique attribute collide with values that have been used.
+ * <p>
+ * The collision rate is an exponentially weighted moving average over recent attempts, so it follows the rate as the
+ * possible values fill up. Assuming the supplier picks uniformly from a fixed set of values, the rate is also the
+ * fraction of those values that are used, which gives an estimate of how many remain.
+ */
+public class CollisionStatistics {
+    /**
+     * The weight given to each new attempt in the moving average.
+     */
+    public static final double SMOOTHING_FACTOR = 0.02;
+
+    /**
+     * The largest number of unused values {@link #getUnusedValuesLikelihood(double)} considers, beyond which the
+     * attempts can't tell whether any remain.
+     */
+    private static final long MAX_UNUSED_VALUES_CONSIDERED = 10_000;
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder collisions = new LongAdder();
+
+    // the moving average is held as the bits of a double so that it can be updated atomically
+    private final AtomicLong collisionRateBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    /**
+     * Records an attempt to claim a value.
+     *
+     * @param collided whether the value had been used already
+     */
+    public void recordAttempt(final boolean collided) {
+        attempts.increment();
+
+        if (collided) {
+            collisions.increment();
+        }
+
+        final double sample = collided ? 1 : 0;
+        long currentBits;
+        long updatedBits;
+
+        do {
+            currentBits = collisionRateBits.get();
+
+            final double current = Double.longBitsToDouble(currentBits);
+
+            updatedBits = Double.doubleToRawLongBits(current + SMOOTHING_FACTOR * (sample - current));
+        } while (!collisionRateBits.compareAndSet(currentBits, updatedBits));
+    }
+
+    /**
+     * Gets the number of attempts to claim a value.
+     *
+     * @return the number of attempts
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Gets the number of attempts that collided with a used value.
+     *
+     * @return the number of collisions
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Gets the number of values successfully claimed.
+     *
+     * @return the number of values used
+     */
+    public long getUsedCount() {
+        return getAttempts() - getCollisions();
+    }
+
+    /**
+     * Gets the moving average of the fraction of attempts that collided with a used value.
+     *
+     * @return the collision rate, between 0 and 1
+     */
+    public double getCollisionRate() {
+        return Double.longBitsToDouble(collisionRateBits.get());
+    }
+
+    /**
+     * Estimates how many unused values the supplier can still produce, assuming it picks uniformly from a fixed set.
+     *
+     * @return the estimated number of remaining values, or {@link Long#MAX_VALUE} if no collisions have been seen
+     */
+    public long getEstimatedRemaining() {
+        final double collisionRate = getCollisionRate();
+
+        if (collisionRate <= 0) {
+            return Long.MAX_VALUE;
+        }
+
+        return (long) (getUsedCount() * (1 - collisionRate) / collisionRate);
+    }
+
+    /**
+     * Gets an upper bound on the probability of the attempts so far finding no more values than have been used, were
+     * the supplier picking uniformly from enough values for less than a fraction of them to be used. A small
+     * probability means the used fraction has most likely reached the given fraction.
+     *
+     * @param usedFraction the fraction of the supplier's values
+     * @return the probability, between 0 and 1
+     */
+    public double getUnusedValuesLikelihood(final double usedFraction) {
+        final long attempts = getAttempts();
+        final long used = attempts - getCollisions();
+
+        if (used <= 0) {
+            return 1;
+        }
+
+        // the fewest values the supplier could pick from for less than the fraction of them to be used
+        final long values = (long) Math.floor(used / usedFraction) + 1;
+        final long unused = values - used;
+
+        final double logProbabilityOfUsedValuesOnly = attempts * Math.log((double) used / values);
+
+        // (values choose unused) is at least (values / unused)^unused, so most healthy attributes stop here
+        if (unused > MAX_UNUSED_VALUES_CONSIDERED
+                || logProbabilityOfUsedValuesOnly + unused * Math.log((double) values / unused) >= 0) {
+            return 1;
+        }
+
+        // union bound over every set of the used size: (values choose unused) * (used / values)^attempts
+        double logLikelihood = logProbabilityOfUsedValuesOnly;
+
+        for (long i = 1; i <= unused && logLikelihood < 0; i++) {
+            logLikelihood += Math.log((double) (used + i) / i);
+        }
+
+        return Math.min(1, Math.exp(logLikelihood));
+    }
+
+    /**
+     * Resets the statistics, for when the used values are cleared.
+     */
+    public void reset() {
+        attempts.reset();
+        collisions.reset();
+        collisionRateBits.set(Double.doubleToRawLongBits(0));
+    }
+}
@@ -0,0 +1,36 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The default uniqueness tracker.
+ * <p>
+ * Stores the claimed values in a concurrent hash set, whose reads are lock free and whose writes only lock the bin
+ * the value hashes to, so threads claiming different values rarely contend with each other.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class ConcurrentUniquenessTracker<T> implements UniquenessTracker<T> {
+    private final Set<T> claimedValues = ConcurrentHashMap.newKeySet();
+
+    // concurrent sets can't hold null, so whether it has been claimed is tracked separately
+    private final AtomicBoolean nullClaimed = new AtomicBoolean();
+
+    @Override
+    public boolean tryClaim(final T value) {
+        return value == null ? nullClaimed.compareAndSet(false, true) : claimedValues.add(value);
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        return value == null ? nullClaimed.get() : claimedValues.contains(value);
+    }
+
+    @Override
+    public void clear() {
+        claimedValues.clear();
+        nullClaimed.set(false);
+    }
+}
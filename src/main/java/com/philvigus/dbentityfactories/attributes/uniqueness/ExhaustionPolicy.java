@@ -0,0 +1,156 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Decides what a unique attribute does once the values its supplier produces look exhausted, i.e. once its
+ * {@link CollisionStatistics} show that the fraction of the supplier's values that are used has reached a threshold.
+ * <p>
+ * By default, an attribute keeps calling its supplier until it finds an unused value or runs out of attempts, so near
+ * saturation every entity costs many supplier calls. A policy can instead fail straight away, or switch to a fallback
+ * that makes the supplier's values unique, such as adding a suffix. A fallback is also used for any value that runs out
+ * of attempts before the values look exhausted.
+ * <p>
+ * The values look exhausted once either the moving average collision rate reaches the threshold, or the attempts so
+ * far would have been very unlikely to find so few distinct values were the supplier picking from enough values for
+ * the used fraction to be below the threshold. The second test catches suppliers with only a few possible values
+ * within a few dozen attempts, long before the moving average catches up.
+ *
+ * @param <T> the type of the attribute
+ */
+public final class ExhaustionPolicy<T> {
+    /**
+     * The default collision rate at which values are treated as exhausted.
+     */
+    public static final double DEFAULT_THRESHOLD = 0.95;
+
+    /**
+     * The number of attempts needed before the collision rate is trusted.
+     */
+    public static final long MIN_ATTEMPTS = 100;
+
+    /**
+     * The probability below which the attempts so far are too unlikely for the supplier to have enough unused values.
+     */
+    public static final double SIGNIFICANCE = 0.01;
+
+    private static final ExhaustionPolicy<?> NONE = new ExhaustionPolicy<>(1, null, false);
+
+    private final double threshold;
+
+    private final UnaryOperator<T> fallback;
+
+    private final boolean detecting;
+
+    private ExhaustionPolicy(final double threshold, final UnaryOperator<T> fallback, final boolean detecting) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be greater than 0 and at most 1");
+        }
+
+        this.threshold = threshold;
+        this.fallback = fallback;
+        this.detecting = detecting;
+    }
+
+    /**
+     * Creates a policy that never treats the values as exhausted, so every value keeps calling the supplier until it
+     * finds an unused value or runs out of attempts. This is the default for unique attributes.
+     *
+     * @param <T> the type of the attribute
+     * @return the policy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExhaustionPolicy<T> none() {
+        return (ExhaustionPolicy<T>) NONE;
+    }
+
+    /**
+     * Creates a policy that throws an exception as soon as the values look exhausted, at the default threshold.
+     *
+     * @param <T> the type of the attribute
+     * @return the policy
+     */
+    public static <T> ExhaustionPolicy<T> failFast() {
+        return failFast(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a policy that throws an exception as soon as the values look exhausted.
+     *
+     * @param threshold the collision rate at which values are treated as exhausted
+     * @param <T>       the type of the attribute
+     * @return the policy
+     */
+    public static <T> ExhaustionPolicy<T> failFast(final double threshold) {
+        return new ExhaustionPolicy<>(threshold, null, true);
+    }
+
+    /**
+     * Creates a policy that passes each of the supplier's values through a fallback once the values look exhausted.
+     * The fallback's values are still checked for uniqueness.
+     *
+     * @param threshold the collision rate at which values are treated as exhausted
+     * @param fallback  the function that makes a value unique
+     * @param <T>       the type of the attribute
+     * @return the policy
+     */
+    public static <T> ExhaustionPolicy<T> fallback(final double threshold, final UnaryOperator<T> fallback) {
+        return new ExhaustionPolicy<>(threshold, fallback, true);
+    }
+
+    /**
+     * Creates a policy that appends a hyphen and a sequence number to each of the supplier's values once the values
+     * look exhausted, at the default threshold.
+     *
+     * @return the policy
+     */
+    public static ExhaustionPolicy<String> suffix() {
+        final AtomicLong sequence = new AtomicLong(1);
+
+        return fallback(DEFAULT_THRESHOLD, value -> value + "-" + sequence.getAndIncrement());
+    }
+
+    /**
+     * Returns whether the values look exhausted.
+     *
+     * @param statistics the attribute's collision statistics
+     * @return whether the values are exhausted
+     */
+    public boolean isExhausted(final CollisionStatistics statistics) {
+        if (!detecting) {
+            return false;
+        }
+
+        return statistics.getAttempts() >= MIN_ATTEMPTS && statistics.getCollisionRate() >= threshold
+                || statistics.getUnusedValuesLikelihood(threshold) < SIGNIFICANCE;
+    }
+
+    /**
+     * Gets the collision rate at which values are treated as exhausted.
+     *
+     * @return the threshold
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns whether the policy switches to a fallback rather than failing.
+     *
+     * @return whether there is a fallback
+     */
+    public boolean hasFallback() {
+        return fallback != null;
+    }
+
+    /**
+     * Passes a value through the fallback.
+     *
+     * @param value the value from the supplier
+     * @return the value to use instead
+     */
+    public T applyFallback(final T value) {
+        return fallback.apply(value);
+    }
+}
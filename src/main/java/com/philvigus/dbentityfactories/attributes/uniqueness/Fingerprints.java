@@ -0,0 +1,148 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Hashes values into well-distributed 64-bit fingerprints for the compact uniqueness trackers.
+ */
+final class Fingerprints {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Gets the fingerprint of a value.
+     * <p>
+     * Every bit of the value that takes part in its {@code equals()} is hashed, so distinct values only share a
+     * fingerprint by chance, around once in 2<sup>64</sup>. Character sequences, numbers, booleans, characters, enums,
+     * UUIDs and the local date and time types are supported. Other values are rejected rather than hashed by their
+     * 32-bit {@code hashCode()}, whose collisions would wrongly report unused values as used after only tens of
+     * thousands of claims.
+     *
+     * @param value the value, which must not be null
+     * @return the fingerprint
+     * @throws EntityFactoryException if values of the value's type can't be fingerprinted
+     */
+    static long of(final Object value) {
+        if (value instanceof CharSequence) {
+            final CharSequence chars = (CharSequence) value;
+            long hash = FNV_OFFSET_BASIS;
+
+            for (int i = 0; i < chars.length(); i++) {
+                hash = (hash ^ chars.charAt(i)) * FNV_PRIME;
+            }
+
+            return mix(hash);
+        }
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        }
+
+        if (value instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) value));
+        }
+
+        if (value instanceof Float) {
+            return mix(Float.floatToIntBits((Float) value));
+        }
+
+        if (value instanceof Character) {
+            return mix((Character) value);
+        }
+
+        if (value instanceof Boolean) {
+            return mix((Boolean) value ? 1 : 0);
+        }
+
+        if (value instanceof UUID) {
+            final UUID uuid = (UUID) value;
+
+            return combine(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+
+        if (value instanceof BigInteger) {
+            return of((BigInteger) value);
+        }
+
+        if (value instanceof BigDecimal) {
+            // equal big decimals have the same unscaled value and scale
+            final BigDecimal decimal = (BigDecimal) value;
+
+            return combine(of(decimal.unscaledValue()), decimal.scale());
+        }
+
+        if (value instanceof Enum) {
+            return combine(of(value.getClass().getName()), ((Enum<?>) value).ordinal());
+        }
+
+        if (value instanceof LocalDate) {
+            return mix(((LocalDate) value).toEpochDay());
+        }
+
+        if (value instanceof LocalTime) {
+            return mix(((LocalTime) value).toNanoOfDay());
+        }
+
+        if (value instanceof LocalDateTime) {
+            final LocalDateTime dateTime = (LocalDateTime) value;
+
+            return combine(dateTime.toLocalDate().toEpochDay(), dateTime.toLocalTime().toNanoOfDay());
+        }
+
+        if (value instanceof Instant) {
+            final Instant instant = (Instant) value;
+
+            return combine(instant.getEpochSecond(), instant.getNano());
+        }
+
+        throw new EntityFactoryException(String.format(
+                "Values of type %s can't be fingerprinted, track them with a ConcurrentUniquenessTracker instead",
+                value.getClass()));
+    }
+
+    /**
+     * Spreads the bits of a value using the murmur3 finalizer, so that similar values get very different hashes.
+     *
+     * @param value the value
+     * @return the mixed value
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+    private static long of(final BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return mix(value.longValue());
+        }
+
+        long hash = FNV_OFFSET_BASIS;
+
+        for (final byte b : value.toByteArray()) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    private static long combine(final long first, final long second) {
+        return mix(mix(first) ^ second);
+    }
+}
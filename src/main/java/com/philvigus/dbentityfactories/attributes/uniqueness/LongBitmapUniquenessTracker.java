@@ -0,0 +1,70 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A uniqueness tracker for integral attributes whose values fall in dense ranges, such as sequential ids.
+ * <p>
+ * Values are tracked as single bits in pages of 65,536 values, so a fully used range costs one bit per value and a
+ * hundred million sequential ids take around 12MB. Pages are only allocated once a value in their range is claimed,
+ * but each one takes 8KB however few of its values are used, so sparse values are better tracked by a
+ * {@link LongHashUniquenessTracker}. Bits are claimed with a compare-and-set, so claiming values never blocks.
+ * <p>
+ * Values are tracked by their {@code longValue()}, so any fractional part of a floating point value is ignored.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class LongBitmapUniquenessTracker<T extends Number> implements UniquenessTracker<T> {
+    private static final int PAGE_BITS = 16;
+
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final Map<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean nullClaimed = new AtomicBoolean();
+
+    @Override
+    public boolean tryClaim(final T value) {
+        if (value == null) {
+            return nullClaimed.compareAndSet(false, true);
+        }
+
+        final long longValue = value.longValue();
+        final AtomicLongArray page = pages.computeIfAbsent(longValue >> PAGE_BITS, key -> new AtomicLongArray(PAGE_SIZE / Long.SIZE));
+        final int word = (int) (longValue & (PAGE_SIZE - 1)) >>> 6;
+        final long bit = 1L << longValue;
+
+        long current;
+
+        do {
+            current = page.get(word);
+
+            if ((current & bit) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current | bit));
+
+        return true;
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        if (value == null) {
+            return nullClaimed.get();
+        }
+
+        final long longValue = value.longValue();
+        final AtomicLongArray page = pages.get(longValue >> PAGE_BITS);
+
+        return page != null && (page.get((int) (longValue & (PAGE_SIZE - 1)) >>> 6) & (1L << longValue)) != 0;
+    }
+
+    @Override
+    public void clear() {
+        pages.clear();
+        nullClaimed.set(false);
+    }
+}
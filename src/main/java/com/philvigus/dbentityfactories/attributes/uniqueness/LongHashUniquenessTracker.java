@@ -0,0 +1,199 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A uniqueness tracker for integral attributes such as {@code Long} and {@code Integer}.
+ * <p>
+ * Values are stored unboxed in open-addressing {@code long} hash tables, creating no garbage once the tables have
+ * grown. A table doubles once it is more than half full, so it is kept between a quarter and half full and takes 16 to
+ * 32 bytes per value, rather than the 40 or more of a boxed value in a hash set, plus a transient copy while it grows.
+ * The tables are split into stripes with a lock each, so threads claiming different values rarely contend with each
+ * other.
+ * <p>
+ * Values are tracked by their {@code longValue()}, so any fractional part of a floating point value is ignored.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class LongHashUniquenessTracker<T extends Number> implements UniquenessTracker<T> {
+    private static final int STRIPES = 64;
+
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final AtomicBoolean nullClaimed = new AtomicBoolean();
+
+    /**
+     * Instantiates a new long hash uniqueness tracker.
+     */
+    public LongHashUniquenessTracker() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public boolean tryClaim(final T value) {
+        if (value == null) {
+            return nullClaimed.compareAndSet(false, true);
+        }
+
+        return tryClaimLong(value.longValue());
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        if (value == null) {
+            return nullClaimed.get();
+        }
+
+        return isClaimedLong(value.longValue());
+    }
+
+    @Override
+    public void clear() {
+        for (final Stripe stripe : stripes) {
+            stripe.clear();
+        }
+
+        nullClaimed.set(false);
+    }
+
+    /**
+     * Gets the number of values claimed.
+     *
+     * @return the number of claimed values
+     */
+    public long size() {
+        long size = nullClaimed.get() ? 1 : 0;
+
+        for (final Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Claims an unboxed value if it hasn't been used already.
+     *
+     * @param value the value to claim
+     * @return whether the value was claimed
+     */
+    boolean tryClaimLong(final long value) {
+        final long hash = Fingerprints.mix(value);
+
+        return getStripe(hash).add(value, hash);
+    }
+
+    /**
+     * Returns whether an unboxed value has already been claimed.
+     *
+     * @param value the value to check
+     * @return whether the value has been claimed
+     */
+    boolean isClaimedLong(final long value) {
+        final long hash = Fingerprints.mix(value);
+
+        return getStripe(hash).contains(value, hash);
+    }
+
+    private Stripe getStripe(final long hash) {
+        // the stripe is chosen by the top bits of the hash and the slot within it by the bottom bits
+        return stripes[(int) (hash >>> 58)];
+    }
+
+    /**
+     * A linear probing hash table of longs, using zero to mark empty slots and a flag to record whether zero itself
+     * has been claimed.
+     */
+    private static final class Stripe {
+        private long[] table = new long[INITIAL_STRIPE_CAPACITY];
+
+        private int size;
+
+        private boolean containsZero;
+
+        synchronized boolean add(final long value, final long hash) {
+            if (value == 0) {
+                if (containsZero) {
+                    return false;
+                }
+
+                containsZero = true;
+                size++;
+
+                return true;
+            }
+
+            final int mask = table.length - 1;
+
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (table[slot] == value) {
+                    return false;
+                }
+
+                if (table[slot] == 0) {
+                    table[slot] = value;
+                    size++;
+
+                    // keep the load factor at or below a half so that probe sequences stay short
+                    if (size * 2 > table.length) {
+                        grow();
+                    }
+
+                    return true;
+                }
+            }
+        }
+
+        synchronized boolean contains(final long value, final long hash) {
+            if (value == 0) {
+                return containsZero;
+            }
+
+            final int mask = table.length - 1;
+
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (table[slot] == value) {
+                    return true;
+                }
+
+                if (table[slot] == 0) {
+                    return false;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            table = new long[INITIAL_STRIPE_CAPACITY];
+            size = 0;
+            containsZero = false;
+        }
+
+        private void grow() {
+            final long[] oldTable = table;
+            final long[] newTable = new long[oldTable.length * 2];
+            final int mask = newTable.length - 1;
+
+            for (final long value : oldTable) {
+                if (value != 0) {
+                    int slot = (int) Fingerprints.mix(value) & mask;
+
+                    while (newTable[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+
+                    newTable[slot] = value;
+                }
+            }
+
+            table = newTable;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An off-heap uniqueness tracker for very large numbers of values.
+ * <p>
+ * The 64-bit fingerprints of claimed values are kept in a fixed-size open-addressing hash table in a memory-mapped
+ * file, so the heap stays small and the operating system pages the table in and out as needed. The table is split
+ * into regions, each mapped separately and guarded by its own lock, so threads claiming different values rarely
+ * contend with each other. Each region is filled to at most 90% of its slots, after which claims throw an
+ * {@link EntityFactoryException}, so the expected count should include some headroom.
+ * <p>
+ * As with fingerprint confirmation in the {@link BloomFilterUniquenessTracker}, two values sharing a fingerprint costs a
+ * retry but can never produce a duplicate. The file can be reused by later runs that generate the same values, so
+ * values claimed by earlier runs are not generated again; whether a null value has been claimed is not stored.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class MappedUniquenessTracker<T> implements UniquenessTracker<T>, Closeable {
+    private static final long MAGIC = 0x4442454655514e51L;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 64;
+
+    private static final int MIN_REGIONS = 16;
+
+    private static final long MAX_REGION_SLOTS = 1L << 27;
+
+    private static final double MAX_LOAD_FACTOR = 0.9;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final Region[] regions;
+
+    private final AtomicBoolean nullClaimed = new AtomicBoolean();
+
+    /**
+     * Instantiates a new memory-mapped uniqueness tracker, replacing the file if it already exists.
+     *
+     * @param file          the file to keep the table in, whose directory must exist
+     * @param expectedCount the number of values expected to be claimed
+     */
+    public MappedUniquenessTracker(final Path file, final long expectedCount) {
+        this(file, expectedCount, false);
+    }
+
+    /**
+     * Instantiates a new memory-mapped uniqueness tracker.
+     *
+     * @param file          the file to keep the table in, whose directory must exist
+     * @param expectedCount the number of values expected to be claimed
+     * @param reuseExisting whether to keep the values claimed in an existing file, which must have been created with
+     *                      the same expected count, rather than replacing it
+     */
+    public MappedUniquenessTracker(final Path file, final long expectedCount, final boolean reuseExisting) {
+        if (expectedCount < 1) {
+            throw new IllegalArgumentException("expectedCount must be greater than 0");
+        }
+
+        // keep the load factor around a half at the expected count, so that probe sequences stay short
+        final long totalSlots = Math.max(MIN_REGIONS * 64L, Long.highestOneBit(expectedCount * 2 - 1) << 1);
+        final int regionCount = (int) Math.max(MIN_REGIONS, totalSlots / MAX_REGION_SLOTS);
+        final long slotsPerRegion = totalSlots / regionCount;
+
+        this.file = file;
+        this.regions = new Region[regionCount];
+
+        final boolean reusing = reuseExisting && Files.exists(file);
+
+        try {
+            this.channel = reusing
+                    ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new EntityFactoryException(String.format("Unable to open unique value store %s", file), e);
+        }
+
+        try {
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+
+            if (reusing) {
+                checkHeader(header, regionCount, slotsPerRegion);
+            } else {
+                header.putLong(0, MAGIC);
+                header.putInt(8, VERSION);
+                header.putInt(12, regionCount);
+                header.putLong(16, slotsPerRegion);
+            }
+
+            // each region starts with the number of slots used, followed by the slots, with zero marking an empty slot
+            final long regionBytes = (slotsPerRegion + 1) * Long.BYTES;
+
+            for (int i = 0; i < regionCount; i++) {
+                regions[i] = new Region(
+                        channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * regionBytes, regionBytes),
+                        slotsPerRegion);
+            }
+        } catch (IOException | RuntimeException e) {
+            closeQuietly();
+
+            if (e instanceof EntityFactoryException) {
+                throw (EntityFactoryException) e;
+            }
+
+            throw new EntityFactoryException(String.format("Unable to map unique value store %s", file), e);
+        }
+    }
+
+    @Override
+    public boolean tryClaim(final T value) {
+        if (value == null) {
+            return nullClaimed.compareAndSet(false, true);
+        }
+
+        final long hash = getHash(value);
+
+        return getRegion(hash).add(hash);
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        if (value == null) {
+            return nullClaimed.get();
+        }
+
+        final long hash = getHash(value);
+
+        return getRegion(hash).contains(hash);
+    }
+
+    /**
+     * Releases every claimed value, zeroing the whole file.
+     */
+    @Override
+    public void clear() {
+        for (final Region region : regions) {
+            region.clear();
+        }
+
+        nullClaimed.set(false);
+    }
+
+    /**
+     * Gets the number of values claimed.
+     *
+     * @return the number of claimed values
+     */
+    public long size() {
+        long size = nullClaimed.get() ? 1 : 0;
+
+        for (final Region region : regions) {
+            size += region.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the file the table is kept in.
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes any changes to the file and closes it. The mapped regions are released once they are garbage collected.
+     */
+    @Override
+    public void close() {
+        try {
+            for (final Region region : regions) {
+                if (region != null) {
+                    region.force();
+                }
+            }
+
+            channel.close();
+        } catch (IOException e) {
+            throw new EntityFactoryException(String.format("Unable to close unique value store %s", file), e);
+        }
+    }
+
+    private void checkHeader(final MappedByteBuffer header, final int regionCount, final long slotsPerRegion) {
+        if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION) {
+            throw new EntityFactoryException(String.format("%s is not a unique value store", file));
+        }
+
+        if (header.getInt(12) != regionCount || header.getLong(16) != slotsPerRegion) {
+            throw new EntityFactoryException(String.format(
+                    "Unique value store %s was created with a different expected count", file));
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the original failure is more useful than one closing the channel
+        }
+    }
+
+    private Region getRegion(final long hash) {
+        return regions[(int) ((hash >>> 32) & (regions.length - 1))];
+    }
+
+    private static long getHash(final Object value) {
+        final long hash = Fingerprints.of(value);
+
+        // zero marks an empty slot, so the fingerprint zero shares a slot with one
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * A linear probing hash table of fingerprints in one mapped region of the file.
+     */
+    private static final class Region {
+        private final MappedByteBuffer buffer;
+
+        private final long slotMask;
+
+        private final long maxSize;
+
+        Region(final MappedByteBuffer buffer, final long slots) {
+            this.buffer = buffer;
+            this.slotMask = slots - 1;
+            this.maxSize = (long) (slots * MAX_LOAD_FACTOR);
+        }
+
+        synchronized boolean add(final long hash) {
+            for (long slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+                final int offset = getOffset(slot);
+                final long current = buffer.getLong(offset);
+
+                if (current == hash) {
+                    return false;
+                }
+
+                if (current == 0) {
+                    final long size = buffer.getLong(0);
+
+                    if (size >= maxSize) {
+                        throw new EntityFactoryException("Unique value store is full");
+                    }
+
+                    buffer.putLong(offset, hash);
+                    buffer.putLong(0, size + 1);
+
+                    return true;
+                }
+            }
+        }
+
+        synchronized boolean contains(final long hash) {
+            for (long slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+                final long current = buffer.getLong(getOffset(slot));
+
+                if (current == hash) {
+                    return true;
+                }
+
+                if (current == 0) {
+                    return false;
+                }
+            }
+        }
+
+        synchronized long size() {
+            return buffer.getLong(0);
+        }
+
+        synchronized void clear() {
+            final byte[] zeros = new byte[8192];
+
+            for (int offset = 0; offset < buffer.capacity(); offset += zeros.length) {
+                buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+            }
+        }
+
+        synchronized void force() {
+            buffer.force();
+        }
+
+        private static int getOffset(final long slot) {
+            return (int) ((slot + 1) * Long.BYTES);
+        }
+    }
+}
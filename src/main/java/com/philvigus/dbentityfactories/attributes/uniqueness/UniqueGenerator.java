@@ -0,0 +1,25 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+/**
+ * Generates values that are unique by construction, so they never need to be checked against the values used already.
+ * <p>
+ * Implementations must be safe to use from multiple threads at once. This is an abstract class rather than a
+ * functional interface so that a lambda passed to a {@code DefaultAttribute} is never mistaken for a generator.
+ *
+ * @param <T> the type of the values generated
+ * @see UniqueGenerators
+ */
+public abstract class UniqueGenerator<T> {
+    /**
+     * Generates the next value, which is different to every value generated since the generator was created or last
+     * reset.
+     *
+     * @return the value
+     */
+    public abstract T next();
+
+    /**
+     * Resets the generator, so that it may generate the values it has generated already.
+     */
+    public abstract void reset();
+}
@@ -0,0 +1,211 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Factory methods for the built-in unique generators.
+ */
+public final class UniqueGenerators {
+    /**
+     * The placeholder replaced by a sequence number in templated values.
+     */
+    public static final String SEQUENCE_PLACEHOLDER = "{n}";
+
+    private static final int SHUFFLE_ROUNDS = 4;
+
+    private UniqueGenerators() {
+    }
+
+    /**
+     * Creates a generator of sequential numbers starting at 1.
+     *
+     * @return the generator
+     */
+    public static UniqueGenerator<Long> sequence() {
+        return sequence(1);
+    }
+
+    /**
+     * Creates a generator of sequential numbers.
+     *
+     * @param start the first number generated
+     * @return the generator
+     */
+    public static UniqueGenerator<Long> sequence(final long start) {
+        return new UniqueGenerator<>() {
+            private final AtomicLong next = new AtomicLong(start);
+
+            @Override
+            public Long next() {
+                return next.getAndIncrement();
+            }
+
+            @Override
+            public void reset() {
+                next.set(start);
+            }
+        };
+    }
+
+    /**
+     * Creates a generator of strings from a template, replacing each {@value #SEQUENCE_PLACEHOLDER} with a sequence
+     * number starting at 1, for example {@code user-{n}@example.com}.
+     *
+     * @param template the template, which must contain the placeholder
+     * @return the generator
+     */
+    public static UniqueGenerator<String> template(final String template) {
+        final String[] parts = template.split(Pattern.quote(SEQUENCE_PLACEHOLDER), -1);
+
+        if (parts.length < 2) {
+            throw new IllegalArgumentException(String.format("template must contain %s", SEQUENCE_PLACEHOLDER));
+        }
+
+        final UniqueGenerator<Long> sequence = sequence();
+
+        return new UniqueGenerator<>() {
+            @Override
+            public String next() {
+                final String number = sequence.next().toString();
+                final StringBuilder value = new StringBuilder(template.length() + number.length() * (parts.length - 1));
+
+                value.append(parts[0]);
+
+                for (int i = 1; i < parts.length; i++) {
+                    value.append(number).append(parts[i]);
+                }
+
+                return value.toString();
+            }
+
+            @Override
+            public void reset() {
+                sequence.reset();
+            }
+        };
+    }
+
+    /**
+     * Creates a generator that appends a separator and a sequence number starting at 1 to values from a supplier,
+     * such as Faker output, so that the values stay realistic but are unique however often the supplier repeats
+     * itself.
+     *
+     * @param valueSupplier the supplier of the values to make unique
+     * @param separator     the separator between the value and the sequence number, which must contain no digits
+     * @return the generator
+     */
+    public static UniqueGenerator<String> suffixed(final Supplier<String> valueSupplier, final String separator) {
+        // the sequence number is always everything after the last separator, so values with different numbers differ
+        if (separator.isEmpty() || separator.chars().anyMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("separator must not be empty or contain digits");
+        }
+
+        final UniqueGenerator<Long> sequence = sequence();
+
+        return new UniqueGenerator<>() {
+            @Override
+            public String next() {
+                return valueSupplier.get() + separator + sequence.next();
+            }
+
+            @Override
+            public void reset() {
+                sequence.reset();
+            }
+        };
+    }
+
+    /**
+     * Creates a generator that appends a hyphen and a sequence number starting at 1 to values from a supplier.
+     *
+     * @param valueSupplier the supplier of the values to make unique
+     * @return the generator
+     */
+    public static UniqueGenerator<String> suffixed(final Supplier<String> valueSupplier) {
+        return suffixed(valueSupplier, "-");
+    }
+
+    /**
+     * Creates a generator of every number in a range in a shuffled order, using a randomly chosen shuffle.
+     *
+     * @param min the lowest number in the range
+     * @param max the highest number in the range
+     * @return the generator
+     */
+    public static UniqueGenerator<Long> shuffledRange(final long min, final long max) {
+        return shuffledRange(min, max, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a generator of every number in a range in a shuffled order, which is the same for the same seed.
+     * <p>
+     * The numbers are found by passing a counter through a Feistel network, a format-preserving permutation, so each
+     * one takes constant time and no memory is needed to remember which have been used. An
+     * {@link EntityFactoryException} is thrown once every number in the range has been generated.
+     *
+     * @param min  the lowest number in the range
+     * @param max  the highest number in the range
+     * @param seed the seed that chooses the shuffle
+     * @return the generator
+     */
+    public static UniqueGenerator<Long> shuffledRange(final long min, final long max, final long seed) {
+        // the difference overflows to a negative number when the range holds more than Long.MAX_VALUE numbers
+        if (max < min || max - min < 0 || max - min == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("The range must contain between 1 and Long.MAX_VALUE numbers");
+        }
+
+        final long size = max - min + 1;
+
+        // split the bits needed for the range into two equal halves, so the network may cover up to four times the
+        // range and numbers outside it are walked through the network again until they fall inside it
+        final int halfBits = Math.max(1, (64 - Long.numberOfLeadingZeros(size - 1) + 1) / 2);
+        final long halfMask = (1L << halfBits) - 1;
+        final long[] roundKeys = new SplittableRandom(seed).longs(SHUFFLE_ROUNDS).toArray();
+
+        return new UniqueGenerator<>() {
+            private final AtomicLong counter = new AtomicLong();
+
+            @Override
+            public Long next() {
+                final long index = counter.getAndIncrement();
+
+                if (index >= size) {
+                    throw new EntityFactoryException(String.format(
+                            "All %d values between %d and %d have been generated", size, min, max));
+                }
+
+                long value = index;
+
+                do {
+                    value = permute(value);
+                } while (Long.compareUnsigned(value, size) >= 0);
+
+                return min + value;
+            }
+
+            @Override
+            public void reset() {
+                counter.set(0);
+            }
+
+            private long permute(final long value) {
+                long left = value >>> halfBits;
+                long right = value & halfMask;
+
+                for (final long roundKey : roundKeys) {
+                    final long newRight = left ^ (Fingerprints.mix(right ^ roundKey) & halfMask);
+
+                    left = right;
+                    right = newRight;
+                }
+
+                return (left << halfBits) | right;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+/**
+ * Tracks the values that have been used for a unique attribute.
+ * <p>
+ * Implementations must be safe to use from multiple threads at once, as a factory is a singleton bean that may be
+ * creating entities on several threads.
+ *
+ * @param <T> the type of the values tracked
+ */
+public interface UniquenessTracker<T> {
+    /**
+     * Claims a value if it hasn't been used already. Checking and claiming the value is atomic, so if two threads
+     * claim the same value only one of them will succeed.
+     *
+     * @param value the value to claim
+     * @return whether the value was claimed, i.e. it hadn't been used already
+     */
+    boolean tryClaim(T value);
+
+    /**
+     * Returns whether a value has already been claimed.
+     *
+     * @param value the value to check
+     * @return whether the value has been claimed
+     */
+    boolean isClaimed(T value);
+
+    /**
+     * Releases every claimed value so that they can be used again.
+     */
+    void clear();
+}
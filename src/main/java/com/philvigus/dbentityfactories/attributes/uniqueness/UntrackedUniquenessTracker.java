@@ -0,0 +1,25 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+/**
+ * A uniqueness tracker that doesn't record anything, for attributes whose values are unique by construction.
+ * <p>
+ * Every claim succeeds, so values that don't come from a {@link UniqueGenerator} aren't checked for uniqueness.
+ *
+ * @param <T> the type of the values tracked
+ */
+public class UntrackedUniquenessTracker<T> implements UniquenessTracker<T> {
+    @Override
+    public boolean tryClaim(final T value) {
+        return true;
+    }
+
+    @Override
+    public boolean isClaimed(final T value) {
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        // nothing is recorded, so there's nothing to clear
+    }
+}
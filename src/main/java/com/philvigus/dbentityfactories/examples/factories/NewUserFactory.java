@@ -2,17 +2,23 @@ package com.philvigus.dbentityfactories.examples.factories;
 
 import com.philvigus.dbentityfactories.annotations.EntityFactory;
 import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+import com.philvigus.dbentityfactories.attributes.PrefetchingSupplier;
 import com.philvigus.dbentityfactories.examples.entities.NewUser;
 import com.philvigus.dbentityfactories.examples.repositories.NewUserRepository;
 import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
 import com.philvigus.dbentityfactories.factories.HibernateEntityFactory;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.util.Map;
 
 @EntityFactory
-public class NewUserFactory extends HibernateEntityFactory<NewUser> {
-    private static final Faker faker = new Faker();
+public class NewUserFactory extends HibernateEntityFactory<NewUser> implements DisposableBean {
+    private static final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
+
+    // addresses are the most expensive value to generate, so generate them ahead of time in the background
+    private final PrefetchingSupplier<String> addresses =
+            PrefetchingSupplier.of(() -> NewUserFactory.faker.get().address().fullAddress());
 
     public NewUserFactory(final NewUserRepository repository) {
         super(NewUser.class, repository);
@@ -21,13 +27,22 @@ public class NewUserFactory extends HibernateEntityFactory<NewUser> {
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>("username", () -> NewUserFactory.faker.name().username()),
-                new DefaultAttribute<>("firstName", () -> NewUserFactory.faker.name().firstName()),
-                new DefaultAttribute<>("lastName", () -> NewUserFactory.faker.name().lastName()),
-                new DefaultAttribute<>("address", () -> NewUserFactory.faker.address().fullAddress()),
-                new DefaultAttribute<>("email", () -> NewUserFactory.faker.internet().emailAddress()),
-                new DefaultAttribute<>("age", () -> NewUserFactory.faker.number().numberBetween(18, 90)),
-                new DefaultAttribute<>("phoneNumber", () -> NewUserFactory.faker.phoneNumber().cellPhone())
+                new DefaultAttribute<>("username", () -> NewUserFactory.faker.get().name().username()),
+                new DefaultAttribute<>("firstName", () -> NewUserFactory.faker.get().name().firstName()),
+                new DefaultAttribute<>("lastName", () -> NewUserFactory.faker.get().name().lastName()),
+                // the base constructor gets the default attributes before addresses is set, so read it lazily
+                new DefaultAttribute<>("address", () -> addresses.get()),
+                new DefaultAttribute<>("email", () -> NewUserFactory.faker.get().internet().emailAddress()),
+                new DefaultAttribute<>("age", () -> NewUserFactory.faker.get().number().numberBetween(18, 90)),
+                new DefaultAttribute<>("phoneNumber", () -> NewUserFactory.faker.get().phoneNumber().cellPhone())
         );
     }
+
+    /**
+     * Stops generating addresses in the background once the factory is no longer needed.
+     */
+    @Override
+    public void destroy() {
+        addresses.close();
+    }
 }
@@ -0,0 +1,109 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.attributes.BaseAttribute;
+import com.philvigus.dbentityfactories.attributes.CustomAttribute;
+import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable plan describing how to populate an entity's attributes.
+ * <p>
+ * The plan merges a factory's default and custom attributes once, so that populating each entity is a walk over a
+ * flat array of slots rather than a merge of the two attribute maps.
+ *
+ * @param <T> the type of the entity the plan populates
+ */
+final class AttributePlan<T> {
+    /**
+     * The slots making up the plan, custom attributes first followed by any default attributes they don't override.
+     */
+    final Slot<T>[] slots;
+
+    private AttributePlan(final Slot<T>[] slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Builds a plan from a set of default and custom attributes.
+     *
+     * @param defaultAttributes the default attributes
+     * @param customAttributes  the custom attributes overriding the defaults
+     * @param propertyWriters   the writers used to set each attribute on the entity
+     * @param <T>               the type of the entity the plan populates
+     * @return the plan
+     */
+    @SuppressWarnings("unchecked")
+    static <T> AttributePlan<T> of(
+            final Map<String, DefaultAttribute<?>> defaultAttributes,
+            final Map<String, CustomAttribute<?>> customAttributes,
+            final PropertyWriters<T> propertyWriters) {
+        final List<Slot<T>> slots = new ArrayList<>(defaultAttributes.size() + customAttributes.size());
+
+        // custom attribute values are set first, and if they override a unique default attribute then the default
+        // attribute is kept alongside so that the custom values are tracked as used
+        customAttributes.forEach((name, customAttribute) -> {
+            final DefaultAttribute<?> defaultAttribute = defaultAttributes.get(name);
+            final DefaultAttribute<?> uniqueDefaultAttribute =
+                    defaultAttribute != null && defaultAttribute.isUnique() ? defaultAttribute : null;
+
+            slots.add(new Slot<>(propertyWriters.getWriter(name), customAttribute, uniqueDefaultAttribute));
+        });
+
+        defaultAttributes.forEach((name, defaultAttribute) -> {
+            if (!customAttributes.containsKey(name)) {
+                slots.add(new Slot<>(propertyWriters.getWriter(name), defaultAttribute, null));
+            }
+        });
+
+        return new AttributePlan<>(slots.toArray(new Slot[0]));
+    }
+
+    /**
+     * Builds a copy of this plan that leaves an attribute unset.
+     *
+     * @param attributeName the name of the attribute to leave unset
+     * @return the plan without the attribute
+     */
+    @SuppressWarnings("unchecked")
+    AttributePlan<T> excluding(final String attributeName) {
+        return new AttributePlan<>(Arrays.stream(slots)
+                .filter(slot -> !slot.attribute.getName().equals(attributeName))
+                .toArray(Slot[]::new));
+    }
+
+    /**
+     * A single attribute to set on an entity.
+     *
+     * @param <T> the type of the entity the slot populates
+     */
+    static final class Slot<T> {
+        /**
+         * The writer used to set the attribute on the entity.
+         */
+        final BiConsumer<T, Object> writer;
+
+        /**
+         * The attribute supplying the value.
+         */
+        final BaseAttribute<?> attribute;
+
+        /**
+         * The unique default attribute overridden by this slot's custom attribute, or null if there isn't one.
+         */
+        final DefaultAttribute<?> uniqueDefaultAttribute;
+
+        private Slot(
+                final BiConsumer<T, Object> writer,
+                final BaseAttribute<?> attribute,
+                final DefaultAttribute<?> uniqueDefaultAttribute) {
+            this.writer = writer;
+            this.attribute = attribute;
+            this.uniqueDefaultAttribute = uniqueDefaultAttribute;
+        }
+    }
+}
@@ -1,27 +1,55 @@
 package com.philvigus.dbentityfactories.factories;
 
+import com.philvigus.dbentityfactories.attributes.BaseAttribute;
 import com.philvigus.dbentityfactories.attributes.CustomAttribute;
 import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+import com.philvigus.dbentityfactories.attributes.uniqueness.UniquenessTracker;
 import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.jfr.AttributePopulationEvent;
+import com.philvigus.dbentityfactories.jfr.EntityCreationEvent;
+import com.philvigus.dbentityfactories.jfr.PersistBatchEvent;
+import com.philvigus.dbentityfactories.jfr.UniqueValueRetryEvent;
+import com.philvigus.dbentityfactories.metrics.FactoryMetrics;
+import com.philvigus.dbentityfactories.profiling.AttributeProfiler;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+import com.philvigus.dbentityfactories.seeding.Seeds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
-
-import static org.apache.commons.beanutils.BeanUtils.setProperty;
-import static org.apache.commons.beanutils.PropertyUtils.isReadable;
-import static org.apache.commons.beanutils.PropertyUtils.isWriteable;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * The base entity factory.
  *
  * @param <T> the type of the entity the factory creates
  */
-public abstract class BaseEntityFactory<T> {
+public abstract class BaseEntityFactory<T> implements Cloneable {
+    /**
+     * The number of tasks each fork/join worker is given when creating entities in parallel, so that faster workers
+     * can steal work from slower ones.
+     */
+    private static final int PARALLEL_TASKS_PER_WORKER = 4;
 
     /**
      * The class of the entity the factory creates.
@@ -29,7 +57,8 @@ public abstract class BaseEntityFactory<T> {
     protected final Class<T> entityClass;
 
     /**
-     * A list of custom attributes used to override default attributes when creating entities.
+     * The unmodifiable custom attributes used to override default attributes when creating entities. Replaced rather
+     * than modified, so views returned by {@link #withCustomAttributes} never affect the factory they came from.
      */
     protected Map<String, CustomAttribute<?>> customAttributes;
 
@@ -38,6 +67,62 @@ public abstract class BaseEntityFactory<T> {
      */
     protected Map<String, DefaultAttribute<?>> defaultAttributes;
 
+    /**
+     * Compiled writers used to set attribute values on entities, resolved once per attribute name.
+     */
+    private final PropertyWriters<T> propertyWriters;
+
+    /**
+     * The merged default and custom attributes used to populate entities. Rebuilt on next use whenever either changes.
+     */
+    private volatile AttributePlan<T> attributePlan;
+
+    /**
+     * Copies of the attribute plan that each leave an attribute unset, keyed by the name of that attribute.
+     */
+    private Map<String, AttributePlan<T>> excludingAttributePlans = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the factory is a view returned by {@link #withCustomAttributes}, whose configuration can't be changed.
+     */
+    private boolean derived;
+
+    /**
+     * The template used to run operations spanning several factories in a transaction, or null if there is no
+     * transaction manager.
+     */
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Whether the values of seeded attributes are derived from the factory's seed.
+     */
+    private volatile boolean seeded;
+
+    /**
+     * The seed the values of seeded attributes are derived from.
+     */
+    private volatile long seed;
+
+    /**
+     * The index of the next entity created, used with the seed to derive each entity's seed.
+     */
+    private final AtomicLong nextEntityIndex = new AtomicLong();
+
+    /**
+     * The pool used to create entities in parallel.
+     */
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    /**
+     * The metrics recording the entities created and persisted.
+     */
+    protected FactoryMetrics metrics = FactoryMetrics.NOOP;
+
+    /**
+     * The profiler recording the cost of each attribute, or null if attributes aren't being profiled.
+     */
+    private volatile AttributeProfiler attributeProfiler;
+
     /**
      * Instantiates a new base entity factory.
      *
@@ -48,8 +133,9 @@ public abstract class BaseEntityFactory<T> {
             final Class<T> entityClass,
             final BaseEntityFactory<?>... dependentFactories) {
         this.entityClass = entityClass;
+        this.propertyWriters = new PropertyWriters<>(entityClass);
 
-        this.customAttributes = new ConcurrentHashMap<>();
+        this.customAttributes = Map.of();
         this.defaultAttributes = getDefaultAttributes(dependentFactories);
     }
 
@@ -92,11 +178,13 @@ public abstract class BaseEntityFactory<T> {
             throw new IllegalArgumentException("copies must be greater than 0");
         }
 
-        final List<T> entities = new ArrayList<>(copies);
+        return persistingInTransaction(() -> {
+            final List<T> entities = new ArrayList<>(copies);
 
-        IntStream.range(0, copies).forEach(i -> entities.add(persist()));
+            IntStream.range(0, copies).forEach(i -> entities.add(persist()));
 
-        return entities;
+            return entities;
+        });
     }
 
     /**
@@ -106,6 +194,173 @@ public abstract class BaseEntityFactory<T> {
      */
     public abstract T persist();
 
+    /**
+     * Creates and saves a specified number of entities, returning a summary rather than the entities themselves.
+     *
+     * @param copies the number of entities to save
+     * @return the summary of the entities saved
+     */
+    @Transactional
+    public PersistSummary persistCount(final long copies) {
+        return persistCount(copies, PersistSummary.IdCollection.NONE);
+    }
+
+    /**
+     * Creates and saves a specified number of entities, returning a summary rather than the entities themselves so
+     * that no reference to them is kept once they have been saved.
+     *
+     * @param copies       the number of entities to save
+     * @param idCollection how much of the generated ids to include in the summary
+     * @return the summary of the entities saved
+     */
+    @Transactional
+    public PersistSummary persistCount(final long copies, final PersistSummary.IdCollection idCollection) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        return persistingInTransaction(() -> {
+            final PersistSummary.Recorder recorder = new PersistSummary.Recorder(copies, idCollection);
+
+            for (long i = 0; i < copies; i++) {
+                final T entity = persist();
+
+                recorder.record(recorder.isRecordingIds() ? getEntityId(entity) : null);
+            }
+
+            return recorder.finish();
+        });
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches, returning a summary rather than the entities.
+     * Each batch becomes unreachable as soon as it has been saved, so memory use doesn't grow with the number of
+     * entities.
+     *
+     * @param copies         the number of entities to save
+     * @param batchSize      the number of entities in each batch
+     * @param idCollection   how much of the generated ids to include in the summary
+     * @param batchPersister saves each batch of entities
+     * @return the summary of the entities saved
+     */
+    protected PersistSummary persistCountInBatches(
+            final long copies,
+            final int batchSize,
+            final PersistSummary.IdCollection idCollection,
+            final Consumer<List<T>> batchPersister) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        final PersistSummary.Recorder recorder = new PersistSummary.Recorder(copies, idCollection);
+        final List<T> batch = new ArrayList<>((int) Math.min(batchSize, copies));
+
+        for (long remaining = copies; remaining > 0; remaining -= batch.size()) {
+            batch.clear();
+
+            for (long i = Math.min(batchSize, remaining); i > 0; i--) {
+                batch.add(getEntityWithAttributesSet(customAttributes));
+            }
+
+            batchPersister.accept(batch);
+
+            for (final T entity : batch) {
+                recorder.record(recorder.isRecordingIds() ? getEntityId(entity) : null);
+            }
+        }
+
+        return recorder.finish();
+    }
+
+    /**
+     * Gets the id of a saved entity. Used to record ids when saving entities with {@link #persistCount}.
+     *
+     * @param entity the saved entity
+     * @return the entity's id
+     */
+    protected Object getEntityId(final T entity) {
+        throw new EntityFactoryException(String.format("Unable to get the ids of entities of type %s", entityClass));
+    }
+
+    /**
+     * Writes a batch of entities to the database without completing it, so that batches of related entities can be
+     * written together before any of them are completed. Entities already written, for example by a cascade, are
+     * skipped.
+     *
+     * @param batch the entities to write
+     * @return the entities written, to be passed to {@link #completeBatch} once every related batch has been written
+     */
+    protected List<T> writeBatch(final List<T> batch) {
+        throw new EntityFactoryException(String.format("Unable to write batches of entities of type %s", entityClass));
+    }
+
+    /**
+     * Completes a batch written by {@link #writeBatch}, leaving any other entities written in the same transaction as
+     * they are.
+     *
+     * @param written the entities written by the batch
+     */
+    protected void completeBatch(final List<T> written) {
+    }
+
+    /**
+     * Runs an operation in a transaction, or directly if the factory has no transaction manager. Joins the current
+     * transaction if there is one.
+     * <p>
+     * Views returned by {@link #withCustomAttributes} aren't Spring proxies, so their {@code Transactional} methods
+     * run through this instead.
+     *
+     * @param operation the operation to run
+     * @param <R>       the type of the operation's result
+     * @return the operation's result
+     */
+    protected <R> R inTransaction(final Supplier<R> operation) {
+        return transactionTemplate == null ? operation.get() : transactionTemplate.execute(status -> operation.get());
+    }
+
+    /**
+     * Runs an operation that persists entities, with the current thread in {@link GenerationContext.Mode#PERSIST} mode
+     * so that the entities they depend on are persisted too, even when called while another entity is being created.
+     *
+     * @param operation the operation to run
+     * @param <R>       the type of the operation's result
+     * @return the operation's result
+     */
+    protected <R> R persisting(final Supplier<R> operation) {
+        return GenerationContext.run(GenerationContext.Mode.PERSIST, operation);
+    }
+
+    /**
+     * Runs an operation that persists entities in a transaction, as {@link #inTransaction} does, with the current
+     * thread in {@link GenerationContext.Mode#PERSIST} mode.
+     *
+     * @param operation the operation to run
+     * @param <R>       the type of the operation's result
+     * @return the operation's result
+     */
+    protected <R> R persistingInTransaction(final Supplier<R> operation) {
+        return persisting(() -> inTransaction(operation));
+    }
+
+    /**
+     * Records a batch of entities having been written to the database, in the factory's metrics and as a JFR event.
+     *
+     * @param event     the event begun before the batch was written
+     * @param batchSize the number of entities in the batch
+     * @param startTime the {@link System#nanoTime()} before the batch was written, only used if metrics are enabled
+     */
+    protected void recordPersisted(final PersistBatchEvent event, final int batchSize, final long startTime) {
+        if (metrics != FactoryMetrics.NOOP) {
+            metrics.recordPersisted(batchSize, System.nanoTime() - startTime);
+        }
+
+        if (event.shouldCommit()) {
+            event.setEntityClass(entityClass);
+            event.setBatchSize(batchSize);
+            event.commit();
+        }
+    }
+
     /**
      * Creates a specified number of entities.
      *
@@ -125,26 +380,320 @@ public abstract class BaseEntityFactory<T> {
     }
 
     /**
-     * Creates an individual entity.
+     * Creates an individual entity without persisting it. Any related entities created by a
+     * {@link com.philvigus.dbentityfactories.relationships.RelationshipAttribute} are created without being persisted
+     * too.
      *
      * @return the created entity
      */
     public T create() {
-        return getEntityWithAttributesSet(customAttributes);
+        return GenerationContext.run(GenerationContext.Mode.CREATE, () -> getEntityWithAttributesSet(customAttributes));
+    }
+
+    /**
+     * Creates a specified number of entities in parallel, using the factory's fork/join pool.
+     *
+     * @param copies the number of entities to create
+     * @return the created list of entities
+     */
+    public List<T> createParallel(final int copies) {
+        return createParallel(copies, forkJoinPool);
+    }
+
+    /**
+     * Creates a specified number of entities in parallel using a fork/join pool.
+     * <p>
+     * Entities are created by splitting the requested range between the pool's workers, with each worker writing
+     * into its own part of the result, so the order of the returned list matches the order the entities were
+     * requested in. Unique attributes remain unique across workers, but every attribute value supplier must be safe to
+     * call from multiple threads. For example, share a {@code ThreadLocal<Faker>} rather than a single {@code Faker}.
+     *
+     * @param copies the number of entities to create
+     * @param pool   the pool to create the entities in
+     * @return the created, fixed size, list of entities
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> createParallel(final int copies, final ForkJoinPool pool) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        final T[] entities = (T[]) new Object[copies];
+        final int threshold = Math.max(1, copies / (pool.getParallelism() * PARALLEL_TASKS_PER_WORKER));
+        final long firstIndex = seeded ? nextEntityIndex.getAndAdd(copies) : -1;
+
+        pool.invoke(new CreateTask(entities, 0, copies, threshold, firstIndex));
+
+        return Arrays.asList(entities);
+    }
+
+    /**
+     * Seeds the factory, so that the same seed always produces the same values for attributes created with
+     * {@link DefaultAttribute#seeded}, starting again from the first entity.
+     *
+     * @param seed the seed
+     */
+    public void setSeed(final long seed) {
+        setSeed(seed, 0);
+    }
+
+    /**
+     * Seeds the factory, starting from a given entity. Each entity's values depend only on the seed and the entity's
+     * index, so a large dataset can be split between workers that each create a different range of entities, and
+     * together they produce the same values as a single worker creating every entity.
+     *
+     * @param seed             the seed
+     * @param firstEntityIndex the index of the next entity created, starting at 0
+     */
+    public void setSeed(final long seed, final long firstEntityIndex) {
+        checkNotView();
+
+        if (firstEntityIndex < 0) {
+            throw new IllegalArgumentException("firstEntityIndex must not be negative");
+        }
+
+        this.seed = seed;
+        this.nextEntityIndex.set(firstEntityIndex);
+        this.seeded = true;
+    }
+
+    /**
+     * Removes the factory's seed, so that seeded attributes produce random values again.
+     */
+    public void clearSeed() {
+        checkNotView();
+
+        this.seeded = false;
+    }
+
+    /**
+     * Gets the factory's seed.
+     *
+     * @return the seed, or empty if the factory isn't seeded
+     */
+    public OptionalLong getSeed() {
+        return seeded ? OptionalLong.of(seed) : OptionalLong.empty();
+    }
+
+    /**
+     * Gets the pool used to create entities in parallel.
+     *
+     * @return the fork/join pool
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Sets the pool used to create entities in parallel. Defaults to the common pool.
+     *
+     * @param forkJoinPool the fork/join pool
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        checkNotView();
+
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Gets the class of the entity the factory creates.
+     *
+     * @return the entity class
+     */
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Gets the metrics recording the entities created and persisted.
+     *
+     * @return the metrics
+     */
+    public FactoryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics recording the entities created and persisted. Defaults to {@link FactoryMetrics#NOOP}.
+     *
+     * @param metrics the metrics
+     */
+    public void setMetrics(final FactoryMetrics metrics) {
+        checkNotView();
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the profiler recording the cost of each attribute.
+     *
+     * @return the attribute profiler, or null if attributes aren't being profiled
+     */
+    public AttributeProfiler getAttributeProfiler() {
+        return attributeProfiler;
+    }
+
+    /**
+     * Sets the profiler recording the cost of each attribute. Profiling is off by default, and is turned off again by
+     * setting the profiler to null.
+     *
+     * @param attributeProfiler the attribute profiler
+     */
+    public void setAttributeProfiler(final AttributeProfiler attributeProfiler) {
+        checkNotView();
+
+        this.attributeProfiler = attributeProfiler;
+    }
+
+    /**
+     * Returns an infinite stream of entities, each created only when the stream consumes it.
+     * <p>
+     * The stream must be short-circuited, e.g. with {@link Stream#limit(long)} or {@link Stream#takeWhile}.
+     *
+     * @return the stream of created entities
+     */
+    public Stream<T> stream() {
+        return Stream.generate(this::create);
+    }
+
+    /**
+     * Returns a stream of a specified number of entities, each created only when the stream consumes it.
+     *
+     * @param copies the number of entities in the stream
+     * @return the stream of created entities
+     */
+    public Stream<T> stream(final long copies) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        return LongStream.range(0, copies).mapToObj(i -> create());
+    }
+
+    /**
+     * Returns an iterator over a specified number of entities, each created only when {@link Iterator#next()} is
+     * called.
+     *
+     * @param copies the number of entities to iterate over
+     * @return the iterator of created entities
+     */
+    public Iterator<T> iterator(final long copies) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        return new Iterator<>() {
+            private long remaining = copies;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+
+                remaining--;
+
+                return create();
+            }
+        };
+    }
+
+    /**
+     * Starts building graphs of entities, with each entity created by this factory having a number of children created
+     * by another factory. The children's attribute referring to their parent is left unset by the child factory and
+     * the linker is called instead, for example {@code ParentEntity::addChild}.
+     *
+     * @param childFactory         the factory used to create the children
+     * @param childrenPerEntity    the number of children each entity has
+     * @param inverseAttributeName the name of the children's attribute referring to their parent
+     * @param linker               links each child to its parent
+     * @param <C>                  the type of the children
+     * @return the entity graph factory
+     */
+    public <C> EntityGraphFactory<T, C> has(
+            final BaseEntityFactory<C> childFactory,
+            final int childrenPerEntity,
+            final String inverseAttributeName,
+            final BiConsumer<T, C> linker) {
+        return new EntityGraphFactory<>(this, childFactory, childrenPerEntity, inverseAttributeName, linker);
+    }
+
+    /**
+     * Sets the transaction manager used to run operations spanning several factories in a transaction.
+     *
+     * @param transactionManager the transaction manager
+     */
+    @Autowired(required = false)
+    public void setTransactionManager(final PlatformTransactionManager transactionManager) {
+        checkNotView();
+
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
     }
 
     /**
      * Allows the user to specify custom attributes to override the defaults with.
+     * <p>
+     * Returns an immutable view of the factory using the custom attributes along with any the factory already has,
+     * leaving the factory itself unchanged. The view's attribute plan is built up front, and it shares the factory's
+     * property writers, the uniqueness of its default attributes and its seeded entity indexes, so views are cheap to
+     * derive and can be used from many threads at once. The view takes the rest of its configuration, such as its
+     * seed, batch size and metrics, from the factory as it is when the view is derived, and its setters throw an
+     * {@link IllegalStateException} rather than change it.
      *
      * @param customAttributes the custom attributes to use
-     * @return the base entity factory using the custom attributes
+     * @return the view of the factory using the custom attributes
      */
     public BaseEntityFactory<T> withCustomAttributes(final CustomAttribute<?>... customAttributes) {
+        final Map<String, CustomAttribute<?>> merged = new LinkedHashMap<>(this.customAttributes);
+
         for (final CustomAttribute<?> customAttribute : customAttributes) {
-            this.customAttributes.put(customAttribute.getName(), customAttribute);
+            merged.put(customAttribute.getName(), customAttribute);
         }
 
-        return this;
+        return derive(Collections.unmodifiableMap(merged));
+    }
+
+    /**
+     * Throws an exception if the factory is a view returned by {@link #withCustomAttributes}. Called by every method
+     * changing the factory's configuration, as a view shares some of its state with the factory it came from.
+     *
+     * @throws IllegalStateException if the factory is a view
+     */
+    protected void checkNotView() {
+        if (derived) {
+            throw new IllegalStateException(String.format(
+                    "Unable to configure a view of the factory for %s, configure the factory itself instead",
+                    entityClass));
+        }
+    }
+
+    /**
+     * Derives a view of the factory that uses different custom attributes.
+     *
+     * @param customAttributes the unmodifiable custom attributes the view uses
+     * @return the view
+     */
+    @SuppressWarnings("unchecked")
+    private BaseEntityFactory<T> derive(final Map<String, CustomAttribute<?>> customAttributes) {
+        final BaseEntityFactory<T> view;
+
+        try {
+            view = (BaseEntityFactory<T>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new EntityFactoryException(String.format("Unable to derive a factory for %s", entityClass), e);
+        }
+
+        view.derived = true;
+        view.customAttributes = customAttributes;
+        view.excludingAttributePlans = new ConcurrentHashMap<>();
+        view.attributePlan = AttributePlan.of(defaultAttributes, customAttributes, propertyWriters);
+
+        return view;
     }
 
     public void clearAllUsedAttributeValues() {
@@ -162,9 +711,47 @@ public abstract class BaseEntityFactory<T> {
      * @return the entity with attributes set
      */
     protected T getEntityWithAttributesSet(final Map<String, CustomAttribute<?>> customAttributes) {
-        final T entity = instantiateEntity();
+        return getEntityWithAttributesSet(getAttributePlan(customAttributes));
+    }
 
-        return setEntityAttributes(entity, customAttributes);
+    /**
+     * Creates an individual entity, leaving one of its attributes unset. Used when building graphs of entities, where
+     * the attribute linking a child to its parent is set by the graph rather than by the child's factory.
+     *
+     * @param attributeName the name of the attribute to leave unset
+     * @return the created entity
+     */
+    protected T createWithout(final String attributeName) {
+        return getEntityWithAttributesSet(
+                excludingAttributePlans.computeIfAbsent(attributeName, name -> getAttributePlan().excluding(name)));
+    }
+
+    private T getEntityWithAttributesSet(final AttributePlan<T> plan) {
+        return seeded ? getEntityWithAttributesSet(plan, nextEntityIndex.getAndIncrement()) : createEntity(plan);
+    }
+
+    private T getEntityWithAttributesSet(final AttributePlan<T> plan, final long index) {
+        return SeedContext.withEntitySeed(Seeds.forEntity(seed, index), () -> createEntity(plan));
+    }
+
+    private T createEntity(final AttributePlan<T> plan) {
+        final EntityCreationEvent event = new EntityCreationEvent();
+        final long startTime = metrics == FactoryMetrics.NOOP ? 0 : System.nanoTime();
+
+        event.begin();
+
+        final T entity = setEntityAttributes(instantiateEntity(), plan);
+
+        if (metrics != FactoryMetrics.NOOP) {
+            metrics.recordCreated(System.nanoTime() - startTime);
+        }
+
+        if (event.shouldCommit()) {
+            event.setEntityClass(entityClass);
+            event.commit();
+        }
+
+        return entity;
     }
 
     /**
@@ -192,44 +779,61 @@ public abstract class BaseEntityFactory<T> {
      * @return the entity with its attributes set
      */
     protected T setEntityAttributes(final T entity, final Map<String, CustomAttribute<?>> customAttributes) {
-        // custom attribute values are set first. We track the names of those that are set so that we don't overwrite
-        // them with default attribute values
-        final List<String> customAttributesSet = setCustomAttributesOnEntity(customAttributes, entity);
-        
-        setDefaultAttributesOnEntity(customAttributesSet, entity);
-
-        return entity;
+        return setEntityAttributes(entity, getAttributePlan(customAttributes));
     }
 
-    private List<String> setCustomAttributesOnEntity(final Map<String, CustomAttribute<?>> customAttributes, final T entity) {
-        final List<String> customAttributesSet = new ArrayList<>();
+    private T setEntityAttributes(final T entity, final AttributePlan<T> plan) {
+        final AttributeProfiler profiler = attributeProfiler;
 
-        customAttributes.forEach((name, customAttribute) -> {
-            Object customValue;
+        for (final AttributePlan.Slot<T> slot : plan.slots) {
+            final AttributePopulationEvent event = new AttributePopulationEvent();
 
-            // if we have a default attribute with this name, and it's unique, we need to make sure the value
-            // we assign it is added to the default attribute's used values
-            if (defaultAttributes.containsKey(name) && defaultAttributes.get(name).isUnique()) {
-                customValue = getUniqueCustomValue(customAttribute);
-                defaultAttributes.get(name).addUsedValue(customValue);
-            } else {
-                customValue = customAttribute.getValue();
+            event.begin();
+
+            if (seeded) {
+                SeedContext.setAttributeName(slot.attribute.getName());
             }
 
-            setEntityAttribute(entity, name, customValue);
-            customAttributesSet.add(name);
-        });
+            final Object value = profiler == null ? getValue(slot, null) : getProfiledValue(slot, profiler);
+
+            if (event.shouldCommit()) {
+                event.setEntityClass(entityClass);
+                event.setAttributeName(slot.attribute.getName());
+                event.setCustom(slot.attribute instanceof CustomAttribute);
+                event.commit();
+            }
+
+            slot.writer.accept(entity, value);
+        }
 
-        return customAttributesSet;
+        return entity;
     }
 
-    private void setDefaultAttributesOnEntity(final List<String> customAttributesSet, final T entity) {
-        defaultAttributes.forEach((name, defaultAttribute) -> {
-            // If we've already set this attribute with a custom value, we don't want to overwrite it
-            if (!customAttributesSet.contains(name)) {
-                setEntityAttribute(entity, name, defaultAttribute.getValue());
-            }
-        });
+    /**
+     * Discards the current attribute plan so that it is rebuilt the next time an entity is populated.
+     * <p>
+     * Must be called by subclasses that modify the default or custom attributes directly.
+     */
+    protected void invalidateAttributePlan() {
+        attributePlan = null;
+        excludingAttributePlans.clear();
+    }
+
+    private AttributePlan<T> getAttributePlan(final Map<String, CustomAttribute<?>> customAttributes) {
+        return customAttributes == this.customAttributes
+                ? getAttributePlan()
+                : AttributePlan.of(defaultAttributes, customAttributes, propertyWriters);
+    }
+
+    private AttributePlan<T> getAttributePlan() {
+        AttributePlan<T> plan = attributePlan;
+
+        if (plan == null) {
+            plan = AttributePlan.of(defaultAttributes, customAttributes, propertyWriters);
+            attributePlan = plan;
+        }
+
+        return plan;
     }
 
     /**
@@ -240,22 +844,49 @@ public abstract class BaseEntityFactory<T> {
      * @param value  the attribute value
      */
     protected void setEntityAttribute(final T entity, final String name, final Object value) {
-        if (!propertyExists(entity, name)) {
-            throw new EntityFactoryException(
-                    String.format("Property %s does not exist on entity of type %s", name, entityClass));
-        }
+        propertyWriters.getWriter(name).accept(entity, value);
+    }
 
-        try {
-            setProperty(entity, name, value);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new EntityFactoryException(
-                    String.format("Unable to set property %s to %s on entity of type %s", name, value, entityClass), e);
+    private Object getValue(final AttributePlan.Slot<T> slot, final AttributeProfiler.Entry profilerEntry) {
+        return slot.uniqueDefaultAttribute == null
+                ? slot.attribute.getValue()
+                : getUniqueCustomValue(slot.attribute, slot.uniqueDefaultAttribute, profilerEntry);
+    }
+
+    private Object getProfiledValue(final AttributePlan.Slot<T> slot, final AttributeProfiler profiler) {
+        final AttributeProfiler.Entry entry = profiler.getEntry(entityClass, slot.attribute);
+        final DefaultAttribute<?> uniqueDefaultAttribute = slot.attribute instanceof DefaultAttribute
+                && ((DefaultAttribute<?>) slot.attribute).isUnique() ? (DefaultAttribute<?>) slot.attribute : null;
+        final long collisionsBefore = uniqueDefaultAttribute == null
+                ? 0
+                : uniqueDefaultAttribute.getCollisionStatistics().getCollisions();
+        final long allocatedBytesBefore = profiler.getAllocatedBytes();
+        final long startTime = System.nanoTime();
+
+        final Object value = getValue(slot, entry);
+        final long nanos = System.nanoTime() - startTime;
+        final long allocatedBytesAfter = profiler.getAllocatedBytes();
+
+        entry.record(nanos, allocatedBytesBefore < 0 ? -1 : allocatedBytesAfter - allocatedBytesBefore);
+
+        if (uniqueDefaultAttribute != null) {
+            entry.recordUniqueRetries(uniqueDefaultAttribute.getCollisionStatistics().getCollisions() - collisionsBefore);
         }
+
+        return value;
     }
 
-    private Object getUniqueCustomValue(final CustomAttribute<?> customAttribute) {
+    @SuppressWarnings("unchecked")
+    private <V> V getUniqueCustomValue(
+            final BaseAttribute<?> customAttribute,
+            final DefaultAttribute<V> defaultAttribute,
+            final AttributeProfiler.Entry profilerEntry) {
+        final UniquenessTracker<V> uniquenessTracker = defaultAttribute.getUniquenessTracker();
+        final UniqueValueRetryEvent event = new UniqueValueRetryEvent();
         int attempts = 0;
-        Object customValue;
+        V customValue;
+
+        event.begin();
 
         do {
             // bail out and throw an error after a set number of attempts to find a unique value
@@ -267,14 +898,77 @@ public abstract class BaseEntityFactory<T> {
                 );
             }
 
-            customValue = customAttribute.getValue();
+            customValue = (V) customAttribute.getValue();
             attempts++;
-        } while (defaultAttributes.get(customAttribute.getName()).hasUsedValue(customValue));
+        } while (!tryClaim(uniquenessTracker, customValue));
+
+        if (profilerEntry != null) {
+            profilerEntry.recordUniqueRetries(attempts - 1);
+        }
+
+        if (attempts > 1 && event.shouldCommit()) {
+            event.setEntityClass(entityClass);
+            event.setAttributeName(customAttribute.getName());
+            event.setAttempts(attempts);
+            event.commit();
+        }
 
         return customValue;
     }
 
-    private boolean propertyExists(Object entity, String propertyName) {
-        return isReadable(entity, propertyName) && isWriteable(entity, propertyName);
+    private <V> boolean tryClaim(final UniquenessTracker<V> uniquenessTracker, final V value) {
+        try {
+            return uniquenessTracker.tryClaim(value);
+        } catch (ClassCastException e) {
+            throw new EntityFactoryException("Unable to claim unique value as it is of the wrong type", e);
+        }
+    }
+
+    /**
+     * Creates the entities in a range of the result in parallel, splitting the range until it is small enough.
+     */
+    private final class CreateTask extends RecursiveAction {
+        private final T[] entities;
+
+        private final int start;
+
+        private final int end;
+
+        private final int threshold;
+
+        /**
+         * The index of the first entity if the factory is seeded, so that each entity is seeded by its position in
+         * the list rather than by the order the workers happen to create them in, or -1 if it isn't.
+         */
+        private final long firstIndex;
+
+        private CreateTask(final T[] entities, final int start, final int end, final int threshold, final long firstIndex) {
+            this.entities = entities;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.firstIndex = firstIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                for (int i = start; i < end; i++) {
+                    entities[i] = firstIndex < 0 ? create() : createAt(firstIndex + i);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+
+                invokeAll(
+                        new CreateTask(entities, start, middle, threshold, firstIndex),
+                        new CreateTask(entities, middle, end, threshold, firstIndex));
+            }
+        }
+
+        private T createAt(final long index) {
+            return GenerationContext.run(
+                    GenerationContext.Mode.CREATE,
+                    () -> getEntityWithAttributesSet(getAttributePlan(customAttributes), index));
+        }
     }
 }
@@ -0,0 +1,197 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.jfr.PersistBatchEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Creates graphs of entities, each made up of a parent and a fixed number of children, built in memory and linked
+ * before anything is persisted.
+ * <p>
+ * Graphs are persisted in batches of parents. Each batch's parents are written before its children, so that the
+ * children can refer to them, and the whole batch is completed together, letting the inserts into each table be sent
+ * as JDBC batches.
+ *
+ * @param <P> the type of the parent entities
+ * @param <C> the type of the child entities
+ */
+public class EntityGraphFactory<P, C> {
+    /**
+     * The default number of parents persisted in each batch, along with their children.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final BaseEntityFactory<P> parentFactory;
+
+    private final BaseEntityFactory<C> childFactory;
+
+    private final int childrenPerParent;
+
+    private final String inverseAttributeName;
+
+    private final BiConsumer<P, C> linker;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Instantiates a new entity graph factory.
+     *
+     * @param parentFactory        the factory used to create the parents
+     * @param childFactory         the factory used to create the children
+     * @param childrenPerParent    the number of children each parent has
+     * @param inverseAttributeName the name of the children's attribute referring to their parent
+     * @param linker               links each child to its parent
+     */
+    EntityGraphFactory(
+            final BaseEntityFactory<P> parentFactory,
+            final BaseEntityFactory<C> childFactory,
+            final int childrenPerParent,
+            final String inverseAttributeName,
+            final BiConsumer<P, C> linker) {
+        if (childrenPerParent < 0) {
+            throw new IllegalArgumentException("childrenPerParent must not be negative");
+        }
+
+        this.parentFactory = parentFactory;
+        this.childFactory = childFactory;
+        this.childrenPerParent = childrenPerParent;
+        this.inverseAttributeName = inverseAttributeName;
+        this.linker = linker;
+    }
+
+    /**
+     * Creates an individual parent with its children.
+     *
+     * @return the created parent
+     */
+    public P create() {
+        return GenerationContext.run(GenerationContext.Mode.CREATE, () -> createGraph(null));
+    }
+
+    /**
+     * Creates a specified number of parents with their children.
+     *
+     * @param copies the number of parents to create
+     * @return the created list of parents
+     */
+    public List<P> create(final int copies) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        return GenerationContext.run(GenerationContext.Mode.CREATE, () -> {
+            final List<P> parents = new ArrayList<>(copies);
+
+            for (int i = 0; i < copies; i++) {
+                parents.add(createGraph(null));
+            }
+
+            return parents;
+        });
+    }
+
+    /**
+     * Creates and saves a specified number of parents with their children, in a single transaction if the parent
+     * factory has a transaction manager.
+     *
+     * @param copies the number of parents to save
+     * @return the created and saved list of parents
+     */
+    public List<P> persist(final int copies) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        return parentFactory.persistingInTransaction(() -> {
+            final List<P> parents = new ArrayList<>(copies);
+            final List<C> children = new ArrayList<>(Math.min(copies, batchSize) * childrenPerParent);
+
+            for (int batchStart = 0; batchStart < copies; batchStart += batchSize) {
+                final int batchEnd = Math.min(batchStart + batchSize, copies);
+
+                children.clear();
+
+                for (int i = batchStart; i < batchEnd; i++) {
+                    parents.add(createGraph(children));
+                }
+
+                persistBatch(parents.subList(batchStart, batchEnd), children);
+            }
+
+            return parents;
+        });
+    }
+
+    /**
+     * Writes a batch of parents and then their children before completing either, recording each factory's share of
+     * the batch in its metrics and as a JFR event. Both record the time taken by the whole batch, as the parents and
+     * children may only be sent to the database together when the batch is completed.
+     *
+     * @param parents  the parents in the batch
+     * @param children the children of the parents
+     */
+    private void persistBatch(final List<P> parents, final List<C> children) {
+        final PersistBatchEvent parentEvent = new PersistBatchEvent();
+        final PersistBatchEvent childEvent = new PersistBatchEvent();
+        final long startTime = System.nanoTime();
+
+        parentEvent.begin();
+        childEvent.begin();
+
+        final List<P> writtenParents = parentFactory.writeBatch(parents);
+
+        if (children.isEmpty()) {
+            parentFactory.completeBatch(writtenParents);
+            parentFactory.recordPersisted(parentEvent, parents.size(), startTime);
+
+            return;
+        }
+
+        final List<C> writtenChildren = childFactory.writeBatch(children);
+
+        parentFactory.completeBatch(writtenParents);
+        childFactory.completeBatch(writtenChildren);
+        parentFactory.recordPersisted(parentEvent, parents.size(), startTime);
+        childFactory.recordPersisted(childEvent, children.size(), startTime);
+    }
+
+    /**
+     * Gets the number of parents persisted in each batch, along with their children.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of parents persisted in each batch, along with their children.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    private P createGraph(final List<C> allChildren) {
+        final P parent = parentFactory.getEntityWithAttributesSet(parentFactory.customAttributes);
+
+        for (int i = 0; i < childrenPerParent; i++) {
+            final C child = childFactory.createWithout(inverseAttributeName);
+
+            linker.accept(parent, child);
+
+            if (allChildren != null) {
+                allChildren.add(child);
+            }
+        }
+
+        return parent;
+    }
+}
@@ -0,0 +1,78 @@
+package com.philvigus.dbentityfactories.factories;
+
+import java.util.function.Supplier;
+
+/**
+ * Tracks whether the entities being generated on the current thread are only being created or are going to be
+ * persisted, so that attributes referring to other entities know whether they may persist them.
+ */
+public final class GenerationContext {
+    /**
+     * Whether generated entities are going to be persisted.
+     */
+    public enum Mode {
+        /**
+         * Entities are only being created, so any entities they depend on must be created without being persisted.
+         */
+        CREATE,
+
+        /**
+         * Entities are going to be persisted, so any entities they depend on must be persisted first.
+         */
+        PERSIST
+    }
+
+    private static final ThreadLocal<Mode> MODE = new ThreadLocal<>();
+
+    private GenerationContext() {
+    }
+
+    /**
+     * Gets the mode of the entities being generated on the current thread. Entities generated outside a
+     * {@link BaseEntityFactory#create()} call are assumed to be persisted.
+     *
+     * @return the mode
+     */
+    public static Mode getMode() {
+        final Mode mode = MODE.get();
+
+        return mode == null ? Mode.PERSIST : mode;
+    }
+
+    /**
+     * Returns whether entities generated on the current thread are only being created.
+     *
+     * @return whether entities are only being created
+     */
+    public static boolean isCreating() {
+        return MODE.get() == Mode.CREATE;
+    }
+
+    /**
+     * Runs an operation with the current thread in a mode, restoring the previous mode afterwards.
+     *
+     * @param mode      the mode
+     * @param operation the operation to run
+     * @param <R>       the type of the operation's result
+     * @return the operation's result
+     */
+    static <R> R run(final Mode mode, final Supplier<R> operation) {
+        final Mode previousMode = MODE.get();
+
+        if (previousMode == mode) {
+            return operation.get();
+        }
+
+        MODE.set(mode);
+
+        try {
+            return operation.get();
+        } finally {
+            if (previousMode == null) {
+                MODE.remove();
+            } else {
+                MODE.set(previousMode);
+            }
+        }
+    }
+}
@@ -1,6 +1,24 @@
 package com.philvigus.dbentityfactories.factories;
 
+import com.philvigus.dbentityfactories.jfr.PersistBatchEvent;
+import com.philvigus.dbentityfactories.metrics.FactoryMetrics;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 /**
  * The base entity factory.
@@ -8,11 +26,34 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @param <T> the type of the entity the factory creates
  */
 public class HibernateEntityFactory<T> extends BaseEntityFactory<T> {
+    /**
+     * The default number of entities persisted between each flush of the persistence context.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 20;
+
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
     /**
      * The repository used to save instances of the entity.
      */
     protected final JpaRepository<T, Long> repository;
 
+    /**
+     * The entity manager used to persist entities in batches.
+     */
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    /**
+     * The number of entities persisted between each flush of the persistence context.
+     */
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * How the entity's ids are read, resolved the first time a batch is written.
+     */
+    private volatile JpaEntityInformation<T, ?> entityInformation;
+
     /**
      * Instantiates a new base entity factory.
      *
@@ -36,6 +77,242 @@ public class HibernateEntityFactory<T> extends BaseEntityFactory<T> {
      */
     @Override
     public T persist() {
-        return repository.save(getEntityWithAttributesSet(customAttributes));
+        final T entity = persisting(() -> getEntityWithAttributesSet(customAttributes));
+        final PersistBatchEvent event = new PersistBatchEvent();
+        final long startTime = metrics == FactoryMetrics.NOOP ? 0 : System.nanoTime();
+
+        event.begin();
+
+        final T savedEntity = repository.save(entity);
+
+        recordPersisted(event, 1, startTime);
+
+        return savedEntity;
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches.
+     * <p>
+     * Each batch is built, persisted, flushed, then detached from the persistence context. This keeps the persistence
+     * context from growing with the number of entities and lets Hibernate group the inserts into JDBC batches when
+     * {@code hibernate.jdbc.batch_size} is set. Only the entities written by the batch are detached, so any other
+     * entities managed by the current transaction are left as they are.
+     *
+     * @param copies    the number of entities to save
+     * @param batchSize the number of entities to persist between each flush and clear
+     * @return the created and saved list of entities, detached from the persistence context
+     */
+    @Transactional
+    public List<T> persist(final int copies, final int batchSize) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        return persistingInTransaction(() -> {
+            final List<T> entities = new ArrayList<>(copies);
+
+            for (int batchStart = 0; batchStart < copies; batchStart += batchSize) {
+                final int batchEnd = Math.min(batchStart + batchSize, copies);
+
+                for (int i = batchStart; i < batchEnd; i++) {
+                    entities.add(getEntityWithAttributesSet(customAttributes));
+                }
+
+                persistBatch(entities.subList(batchStart, batchEnd));
+            }
+
+            return entities;
+        });
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches of the factory's batch size, returning a summary
+     * rather than the entities themselves. Each batch is detached from the persistence context once it has been
+     * flushed, so memory use stays bounded whatever the number of entities.
+     *
+     * @param copies       the number of entities to save
+     * @param idCollection how much of the generated ids to include in the summary
+     * @return the summary of the entities saved
+     */
+    @Override
+    @Transactional
+    public PersistSummary persistCount(final long copies, final PersistSummary.IdCollection idCollection) {
+        return persistingInTransaction(() -> persistCountInBatches(copies, batchSize, idCollection, this::persistBatch));
+    }
+
+    /**
+     * Gets the number of entities persisted between each flush of the persistence context by
+     * {@link #persistCount(long, PersistSummary.IdCollection)}.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of entities persisted between each flush of the persistence context by
+     * {@link #persistCount(long, PersistSummary.IdCollection)}.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        checkNotView();
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Samples the ids of existing entities uniformly at random, streaming every id from the database once rather than
+     * loading the entities themselves. The ids are sampled in id order, with {@link SeedContext#getAttributeRandom()},
+     * so the same ids are sampled for the same seeded entity and attribute every time.
+     *
+     * @param sampleSize the maximum number of ids to sample
+     * @param fetchSize  the number of ids fetched from the database at a time
+     * @return the sampled ids, or every id if there are no more than the sample size
+     */
+    @Transactional(readOnly = true)
+    public List<Object> sampleIds(final int sampleSize, final int fetchSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize must be greater than 0");
+        }
+
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be greater than 0");
+        }
+
+        final EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object> query = criteriaBuilder.createQuery(Object.class);
+
+        final Path<?> id = query.from(entityClass).get(entityType.getId(entityType.getIdType().getJavaType()));
+
+        // ordered so that a seeded factory samples the same ids from the same rows
+        query.select(id).orderBy(criteriaBuilder.asc(id));
+
+        final List<Object> sample = new ArrayList<>();
+        final Random random = SeedContext.getAttributeRandom();
+        long seen = 0;
+
+        try (Stream<Object> ids = entityManager.createQuery(query).setHint(FETCH_SIZE_HINT, fetchSize).getResultStream()) {
+            for (final Iterator<Object> iterator = ids.iterator(); iterator.hasNext(); seen++) {
+                final Object nextId = iterator.next();
+
+                // reservoir sampling, so that every id has the same chance of being kept without knowing the count
+                if (seen < sampleSize) {
+                    sample.add(nextId);
+                } else {
+                    final long index = random.nextLong(seen + 1);
+
+                    if (index < sampleSize) {
+                        sample.set((int) index, nextId);
+                    }
+                }
+            }
+        }
+
+        return sample;
+    }
+
+    /**
+     * Gets a reference to an existing entity without loading it, for relationship attributes to refer to.
+     *
+     * @param id the id of the entity
+     * @return the reference
+     */
+    public T getReference(final Object id) {
+        return entityManager.getReference(entityClass, id);
+    }
+
+    @Override
+    protected Object getEntityId(final T entity) {
+        return entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    /**
+     * Persists a batch of entities, flushes the persistence context, then detaches the entities the batch wrote.
+     *
+     * @param batch the entities to persist
+     */
+    protected void persistBatch(final List<T> batch) {
+        final PersistBatchEvent event = new PersistBatchEvent();
+        final long startTime = metrics == FactoryMetrics.NOOP ? 0 : System.nanoTime();
+
+        event.begin();
+
+        final List<T> written = write(batch);
+
+        entityManager.flush();
+        written.forEach(entityManager::detach);
+
+        recordPersisted(event, batch.size(), startTime);
+    }
+
+    /**
+     * Persists a batch of entities without flushing them, skipping any already managed by the persistence context.
+     *
+     * @param batch the entities to persist
+     * @return the managed instances of the entities persisted
+     */
+    @Override
+    protected List<T> writeBatch(final List<T> batch) {
+        return write(batch);
+    }
+
+    /**
+     * Writes each entity not already managed by the persistence context the way {@code JpaRepository.save} does,
+     * persisting new entities and merging entities that already have an id.
+     *
+     * @param batch the entities to write
+     * @return the managed instances of the entities written
+     */
+    private List<T> write(final List<T> batch) {
+        final JpaEntityInformation<T, ?> entityInformation = getEntityInformation();
+        final List<T> written = new ArrayList<>(batch.size());
+
+        for (final T entity : batch) {
+            if (entityManager.contains(entity)) {
+                continue;
+            }
+
+            if (entityInformation.isNew(entity)) {
+                entityManager.persist(entity);
+                written.add(entity);
+            } else {
+                written.add(entityManager.merge(entity));
+            }
+        }
+
+        return written;
+    }
+
+    private JpaEntityInformation<T, ?> getEntityInformation() {
+        JpaEntityInformation<T, ?> information = entityInformation;
+
+        if (information == null) {
+            information = JpaEntityInformationSupport.getEntityInformation(entityClass, entityManager);
+            entityInformation = information;
+        }
+
+        return information;
+    }
+
+    /**
+     * Flushes the persistence context, then detaches the entities the batch wrote, as {@link #persistBatch} does.
+     *
+     * @param written the managed instances of the entities written by the batch
+     */
+    @Override
+    protected void completeBatch(final List<T> written) {
+        entityManager.flush();
+        written.forEach(entityManager::detach);
     }
 }
@@ -0,0 +1,314 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.jfr.PersistBatchEvent;
+import com.philvigus.dbentityfactories.metrics.FactoryMetrics;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The JDBC entity factory.
+ * <p>
+ * Persists entities with prepared INSERT statements through a {@link JdbcTemplate}, using a {@link JdbcEntityMapping}
+ * that is derived once from the entity's JPA annotations or specified explicitly. Multiple entities are written as
+ * JDBC batches, or optionally as multi-row {@code VALUES} inserts, and any generated ids are read back in bulk.
+ *
+ * @param <T> the type of the entity the factory creates
+ */
+public class JdbcEntityFactory<T> extends BaseEntityFactory<T> {
+    /**
+     * The default number of entities written by each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The JDBC template used to save instances of the entity.
+     */
+    protected final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The mapping of the entity to its table.
+     */
+    protected final JdbcEntityMapping<T> mapping;
+
+    /**
+     * The number of entities written by each batch.
+     */
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Whether batches are written as a single multi-row INSERT rather than a JDBC batch of single-row INSERTs.
+     */
+    protected boolean multiRowInserts;
+
+    private final Map<Integer, String> insertSql = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new JDBC entity factory, deriving the entity's mapping from its JPA annotations and the database
+     * the JDBC template connects to.
+     *
+     * @param entityClass        the entity class
+     * @param jdbcTemplate       the JDBC template used to save instances of the entity
+     * @param dependentFactories any factories the creation of this entity depends on
+     */
+    protected JdbcEntityFactory(
+            final Class<T> entityClass,
+            final JdbcTemplate jdbcTemplate,
+            final BaseEntityFactory<?>... dependentFactories) {
+        this(entityClass, jdbcTemplate, JdbcEntityMapping.of(entityClass, getDatabaseProductName(jdbcTemplate)), dependentFactories);
+    }
+
+    /**
+     * Instantiates a new JDBC entity factory with an explicit mapping.
+     *
+     * @param entityClass        the entity class
+     * @param jdbcTemplate       the JDBC template used to save instances of the entity
+     * @param mapping            the mapping of the entity to its table
+     * @param dependentFactories any factories the creation of this entity depends on
+     */
+    protected JdbcEntityFactory(
+            final Class<T> entityClass,
+            final JdbcTemplate jdbcTemplate,
+            final JdbcEntityMapping<T> mapping,
+            final BaseEntityFactory<?>... dependentFactories) {
+        super(entityClass, dependentFactories);
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapping = mapping;
+    }
+
+    /**
+     * Creates and saves an individual entity.
+     *
+     * @return the created and saved entity
+     */
+    @Override
+    public T persist() {
+        final T entity = persisting(() -> getEntityWithAttributesSet(customAttributes));
+
+        persistBatch(List.of(entity));
+
+        return entity;
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches of the factory's batch size.
+     *
+     * @param copies the number of entities to save
+     * @return the created and saved list of entities
+     */
+    @Override
+    @Transactional
+    public List<T> persist(final int copies) {
+        return persist(copies, batchSize);
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches.
+     *
+     * @param copies    the number of entities to save
+     * @param batchSize the number of entities written by each batch
+     * @return the created and saved list of entities
+     */
+    @Transactional
+    public List<T> persist(final int copies, final int batchSize) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("copies must be greater than 0");
+        }
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        return persistingInTransaction(() -> {
+            final List<T> entities = new ArrayList<>(copies);
+
+            for (int batchStart = 0; batchStart < copies; batchStart += batchSize) {
+                final int batchEnd = Math.min(batchStart + batchSize, copies);
+
+                for (int i = batchStart; i < batchEnd; i++) {
+                    entities.add(getEntityWithAttributesSet(customAttributes));
+                }
+
+                persistBatch(entities.subList(batchStart, batchEnd));
+            }
+
+            return entities;
+        });
+    }
+
+    /**
+     * Creates and saves a specified number of entities in batches of the factory's batch size, returning a summary
+     * rather than the entities themselves.
+     *
+     * @param copies       the number of entities to save
+     * @param idCollection how much of the generated ids to include in the summary
+     * @return the summary of the entities saved
+     */
+    @Override
+    @Transactional
+    public PersistSummary persistCount(final long copies, final PersistSummary.IdCollection idCollection) {
+        return persistingInTransaction(() -> persistCountInBatches(copies, batchSize, idCollection, this::persistBatch));
+    }
+
+    /**
+     * Gets the number of entities written by each batch.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of entities written by each batch.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        checkNotView();
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns whether batches are written as a single multi-row INSERT.
+     *
+     * @return whether multi-row inserts are used
+     */
+    public boolean isMultiRowInserts() {
+        return multiRowInserts;
+    }
+
+    /**
+     * Sets whether batches are written as a single multi-row INSERT rather than a JDBC batch of single-row INSERTs.
+     * <p>
+     * Multi-row inserts bind every column of every row in the batch to one statement, so the batch size must keep
+     * the number of parameters within the database's limit.
+     *
+     * @param multiRowInserts whether to use multi-row inserts
+     */
+    public void setMultiRowInserts(final boolean multiRowInserts) {
+        checkNotView();
+
+        this.multiRowInserts = multiRowInserts;
+    }
+
+    @Override
+    protected Object getEntityId(final T entity) {
+        return mapping.getId(entity);
+    }
+
+    /**
+     * Inserts a batch of entities, setting any generated ids on them.
+     *
+     * @param batch the entities to insert
+     */
+    protected void persistBatch(final List<T> batch) {
+        final PersistBatchEvent event = new PersistBatchEvent();
+        final long startTime = metrics == FactoryMetrics.NOOP ? 0 : System.nanoTime();
+
+        event.begin();
+
+        writeBatch(batch);
+
+        recordPersisted(event, batch.size(), startTime);
+    }
+
+    /**
+     * Inserts a batch of entities, setting any generated ids on them. JDBC batches are complete as soon as they have
+     * been written.
+     *
+     * @param batch the entities to insert
+     * @return the entities inserted
+     */
+    @Override
+    protected List<T> writeBatch(final List<T> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = prepareInsert(connection, multiRowInserts ? batch.size() : 1)) {
+                final int parameterCount = mapping.getParameterCount();
+
+                if (multiRowInserts) {
+                    for (int row = 0; row < batch.size(); row++) {
+                        setParameters(statement, batch.get(row), row * parameterCount);
+                    }
+
+                    statement.executeUpdate();
+                } else {
+                    for (final T entity : batch) {
+                        setParameters(statement, entity, 0);
+                        statement.addBatch();
+                    }
+
+                    statement.executeBatch();
+                }
+
+                if (mapping.hasGeneratedId()) {
+                    setGeneratedIds(statement, batch);
+                }
+            }
+
+            return null;
+        });
+
+        return batch;
+    }
+
+    private static String getDatabaseProductName(final JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+    }
+
+    private PreparedStatement prepareInsert(final Connection connection, final int rows) throws SQLException {
+        final String sql = insertSql.computeIfAbsent(rows, mapping::getInsertSql);
+
+        return mapping.hasGeneratedId()
+                ? connection.prepareStatement(sql, new String[]{mapping.getIdColumn()})
+                : connection.prepareStatement(sql);
+    }
+
+    private void setParameters(final PreparedStatement statement, final T entity, final int offset) throws SQLException {
+        for (int i = 0; i < mapping.getParameterCount(); i++) {
+            StatementCreatorUtils.setParameterValue(
+                    statement, offset + i + 1, SqlTypeValue.TYPE_UNKNOWN, mapping.getParameterValue(entity, i));
+        }
+    }
+
+    private void setGeneratedIds(final PreparedStatement statement, final List<T> batch) throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            int keyCount = 0;
+
+            for (final T entity : batch) {
+                if (!generatedKeys.next()) {
+                    throw new EntityFactoryException(String.format(
+                            "Expected %d generated keys for entities of type %s, but the driver returned %d",
+                            batch.size(),
+                            entityClass,
+                            keyCount));
+                }
+
+                setEntityAttribute(entity, mapping.getIdProperty(), generatedKeys.getObject(1));
+                keyCount++;
+            }
+        }
+    }
+}
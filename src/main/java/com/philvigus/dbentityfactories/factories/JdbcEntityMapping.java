@@ -0,0 +1,541 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import org.springframework.beans.BeanUtils;
+
+import javax.persistence.*;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes how an entity is mapped to a database table for {@link JdbcEntityFactory}.
+ * <p>
+ * A mapping can be derived from an entity's JPA annotations with {@link #of(Class)}, or specified explicitly with
+ * {@link #builder(Class)}. Either way the INSERT statement is built once and the property getters are resolved
+ * up front, so writing an entity only reads its values.
+ *
+ * @param <T> the type of the entity being mapped
+ */
+public final class JdbcEntityMapping<T> {
+    /**
+     * The sequence Hibernate uses for generated ids when no sequence generator is specified.
+     */
+    public static final String DEFAULT_SEQUENCE_NAME = "hibernate_sequence";
+
+    /**
+     * The prefixes of the product names of databases that support the SQL standard {@code NEXT VALUE FOR} syntax.
+     */
+    private static final List<String> STANDARD_SEQUENCE_DATABASES =
+            List.of("h2", "hsql", "microsoft sql server", "db2", "apache derby", "mariadb");
+
+    private final Class<T> entityClass;
+
+    private final String tableName;
+
+    private final String idProperty;
+
+    private final MethodHandle idGetter;
+
+    private final String idColumn;
+
+    private final String idValueExpression;
+
+    private final List<ColumnMapping> columns;
+
+    private JdbcEntityMapping(
+            final Class<T> entityClass,
+            final String tableName,
+            final String idProperty,
+            final String idColumn,
+            final String idValueExpression,
+            final List<ColumnMapping> columns) {
+        if (columns.isEmpty() && idValueExpression == null) {
+            throw new EntityFactoryException(String.format("No columns are mapped for entity of type %s", entityClass));
+        }
+
+        this.entityClass = entityClass;
+        this.tableName = tableName;
+        this.idProperty = idProperty;
+        this.idGetter = idProperty != null ? compileGetter(entityClass, idProperty) : null;
+        this.idColumn = idColumn;
+        this.idValueExpression = idValueExpression;
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Derives a mapping from an entity's JPA annotations, inserting ids generated by a sequence using the SQL standard
+     * {@code NEXT VALUE FOR} the sequence. This is supported by H2, HSQLDB, SQL Server, DB2, Derby and MariaDB; use
+     * {@link #of(Class, String)} for other databases.
+     *
+     * @param entityClass the entity class
+     * @param <T>         the type of the entity
+     * @return the mapping
+     */
+    public static <T> JdbcEntityMapping<T> of(final Class<T> entityClass) {
+        return derive(entityClass, null);
+    }
+
+    /**
+     * Derives a mapping from an entity's JPA annotations for a particular database.
+     * <p>
+     * Table and column names are taken from {@code @Table}, {@code @Column} and {@code @JoinColumn} where present,
+     * and otherwise converted from camel case to snake case, matching Spring Boot's default Hibernate naming. Ids
+     * generated by a sequence are inserted using the database's syntax for the sequence's next value, and identity ids
+     * are left to the database. Many-to-one and one-to-one relationships are written as the id of the related entity,
+     * and collections and transient fields are ignored.
+     *
+     * @param entityClass         the entity class
+     * @param databaseProductName the database's product name, as reported by its JDBC driver
+     * @param <T>                 the type of the entity
+     * @return the mapping
+     * @throws EntityFactoryException if the entity's ids are generated by a sequence and the database's syntax for
+     *                                sequences isn't known
+     */
+    public static <T> JdbcEntityMapping<T> of(final Class<T> entityClass, final String databaseProductName) {
+        if (databaseProductName == null) {
+            throw new IllegalArgumentException("databaseProductName must not be null");
+        }
+
+        return derive(entityClass, databaseProductName);
+    }
+
+    /**
+     * Derives a mapping from an entity's JPA annotations.
+     *
+     * @param entityClass         the entity class
+     * @param databaseProductName the database's product name, or null to use the SQL standard syntax for sequences
+     * @param <T>                 the type of the entity
+     * @return the mapping
+     */
+    private static <T> JdbcEntityMapping<T> derive(final Class<T> entityClass, final String databaseProductName) {
+        final Builder<T> builder = builder(entityClass);
+
+        final Table table = entityClass.getAnnotation(Table.class);
+        builder.table(table != null && !table.name().isEmpty() ? table.name() : toSnakeCase(entityClass.getSimpleName()));
+
+        for (final Field field : getPersistentFields(entityClass)) {
+            if (field.isAnnotationPresent(Id.class)) {
+                final String idColumn = getColumnName(field);
+                final GeneratedValue generatedValue = field.getAnnotation(GeneratedValue.class);
+
+                if (generatedValue == null) {
+                    builder.id(field.getName(), idColumn);
+                } else if (generatedValue.strategy() == GenerationType.IDENTITY) {
+                    builder.generatedId(field.getName(), idColumn);
+                } else if (generatedValue.strategy() == GenerationType.TABLE) {
+                    throw new EntityFactoryException(String.format(
+                            "Table generated ids are not supported for entity of type %s, specify a mapping explicitly",
+                            entityClass));
+                } else {
+                    builder.generatedId(field.getName(), idColumn,
+                            getNextValueExpression(getSequenceName(field), databaseProductName, entityClass));
+                }
+            } else if (field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)) {
+                final JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                final String columnName = joinColumn != null && !joinColumn.name().isEmpty()
+                        ? joinColumn.name()
+                        : toSnakeCase(field.getName()) + "_id";
+
+                builder.relationshipColumn(field.getName(), columnName, getIdProperty(field.getType()));
+            } else {
+                builder.column(field.getName(), getColumnName(field));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Starts building a mapping explicitly.
+     *
+     * @param entityClass the entity class
+     * @param <T>         the type of the entity
+     * @return the builder
+     */
+    public static <T> Builder<T> builder(final Class<T> entityClass) {
+        return new Builder<>(entityClass);
+    }
+
+    /**
+     * Gets the entity class.
+     *
+     * @return the entity class
+     */
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Gets the table name.
+     *
+     * @return the table name
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Gets the name of the id property, or null if no id is mapped.
+     *
+     * @return the id property
+     */
+    public String getIdProperty() {
+        return idProperty;
+    }
+
+    /**
+     * Gets the name of the generated id column, or null if ids aren't generated.
+     *
+     * @return the id column
+     */
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    /**
+     * Returns whether the ids of inserted entities are generated by the database.
+     *
+     * @return whether ids are generated
+     */
+    public boolean hasGeneratedId() {
+        return idColumn != null;
+    }
+
+    /**
+     * Gets the number of parameters bound for each row inserted.
+     *
+     * @return the number of parameters per row
+     */
+    public int getParameterCount() {
+        return columns.size();
+    }
+
+    /**
+     * Builds an INSERT statement for a number of rows. A single row statement is used for JDBC batches, and multiple
+     * rows for multi-row {@code VALUES} inserts.
+     *
+     * @param rows the number of rows inserted by the statement
+     * @return the INSERT statement
+     */
+    public String getInsertSql(final int rows) {
+        final List<String> columnNames = new ArrayList<>(columns.size() + 1);
+        final List<String> values = new ArrayList<>(columns.size() + 1);
+
+        for (final ColumnMapping column : columns) {
+            columnNames.add(column.columnName);
+            values.add("?");
+        }
+
+        if (idValueExpression != null) {
+            columnNames.add(idColumn);
+            values.add(idValueExpression);
+        }
+
+        final String row = "(" + String.join(", ", values) + ")";
+
+        return String.format(
+                "INSERT INTO %s (%s) VALUES %s",
+                tableName,
+                String.join(", ", columnNames),
+                String.join(", ", Collections.nCopies(rows, row)));
+    }
+
+    /**
+     * Reads the value of a mapped column from an entity.
+     *
+     * @param entity the entity
+     * @param index  the index of the column's parameter within a row
+     * @return the column value
+     */
+    public Object getParameterValue(final T entity, final int index) {
+        return columns.get(index).read(entity);
+    }
+
+    /**
+     * Reads the id of an entity.
+     *
+     * @param entity the entity
+     * @return the entity's id
+     */
+    public Object getId(final T entity) {
+        if (idGetter == null) {
+            throw new EntityFactoryException(String.format("No id is mapped for entity of type %s", entityClass));
+        }
+
+        return invokeGetter(idGetter, entity, idProperty);
+    }
+
+    private static String getIdProperty(final Class<?> entityClass) {
+        for (final Field field : getPersistentFields(entityClass)) {
+            if (field.isAnnotationPresent(Id.class)) {
+                return field.getName();
+            }
+        }
+
+        throw new EntityFactoryException(String.format("No id is mapped for entity of type %s", entityClass));
+    }
+
+    private static List<Field> getPersistentFields(final Class<?> entityClass) {
+        final List<Field> fields = new ArrayList<>();
+
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+
+                if (Modifier.isStatic(modifiers)
+                        || Modifier.isTransient(modifiers)
+                        || field.isAnnotationPresent(Transient.class)
+                        || field.isAnnotationPresent(OneToMany.class)
+                        || field.isAnnotationPresent(ManyToMany.class)
+                        || field.isAnnotationPresent(ElementCollection.class)) {
+                    continue;
+                }
+
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    private static String getColumnName(final Field field) {
+        final Column column = field.getAnnotation(Column.class);
+
+        return column != null && !column.name().isEmpty() ? column.name() : toSnakeCase(field.getName());
+    }
+
+    private static String getSequenceName(final Field field) {
+        final SequenceGenerator sequenceGenerator = field.getAnnotation(SequenceGenerator.class);
+
+        return sequenceGenerator != null && !sequenceGenerator.sequenceName().isEmpty()
+                ? sequenceGenerator.sequenceName()
+                : DEFAULT_SEQUENCE_NAME;
+    }
+
+    private static String getNextValueExpression(
+            final String sequenceName,
+            final String databaseProductName,
+            final Class<?> entityClass) {
+        final String product = databaseProductName == null ? "h2" : databaseProductName.toLowerCase(Locale.ROOT);
+
+        if (product.startsWith("postgresql")) {
+            return "nextval('" + sequenceName + "')";
+        }
+
+        if (product.startsWith("oracle")) {
+            return sequenceName + ".nextval";
+        }
+
+        if (STANDARD_SEQUENCE_DATABASES.stream().anyMatch(product::startsWith)) {
+            return "NEXT VALUE FOR " + sequenceName;
+        }
+
+        throw new EntityFactoryException(String.format(
+                "Sequence generated ids are not supported on %s for entity of type %s, specify a mapping explicitly",
+                databaseProductName,
+                entityClass));
+    }
+
+    private static String toSnakeCase(final String name) {
+        final StringBuilder builder = new StringBuilder(name.replace('.', '_'));
+
+        for (int i = 1; i < builder.length() - 1; i++) {
+            if (Character.isLowerCase(builder.charAt(i - 1))
+                    && Character.isUpperCase(builder.charAt(i))
+                    && Character.isLowerCase(builder.charAt(i + 1))) {
+                builder.insert(i++, '_');
+            }
+        }
+
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static MethodHandle compileGetter(final Class<?> entityClass, final String property) {
+        final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+        final Method getter = descriptor != null ? descriptor.getReadMethod() : null;
+
+        if (getter == null) {
+            throw new EntityFactoryException(
+                    String.format("Property %s does not exist on entity of type %s", property, entityClass));
+        }
+
+        try {
+            return MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup())
+                    .unreflect(getter)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new EntityFactoryException(
+                    String.format("Unable to access getter for property %s on entity of type %s", property, entityClass), e);
+        }
+    }
+
+    private static Object invokeGetter(final MethodHandle getter, final Object entity, final String property) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw new EntityFactoryException(String.format("Unable to read property %s", property), e);
+        }
+    }
+
+    private static final class ColumnMapping {
+        private final String property;
+
+        private final String columnName;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle relatedIdGetter;
+
+        private ColumnMapping(
+                final String property,
+                final String columnName,
+                final MethodHandle getter,
+                final MethodHandle relatedIdGetter) {
+            this.property = property;
+            this.columnName = columnName;
+            this.getter = getter;
+            this.relatedIdGetter = relatedIdGetter;
+        }
+
+        private Object read(final Object entity) {
+            final Object value = invokeGetter(getter, entity, property);
+
+            return relatedIdGetter == null || value == null ? value : invokeGetter(relatedIdGetter, value, property);
+        }
+    }
+
+    /**
+     * Builds a mapping explicitly.
+     *
+     * @param <T> the type of the entity being mapped
+     */
+    public static final class Builder<T> {
+        private final Class<T> entityClass;
+
+        private final List<ColumnMapping> columns = new ArrayList<>();
+
+        private String tableName;
+
+        private String idProperty;
+
+        private String idColumn;
+
+        private String idValueExpression;
+
+        private Builder(final Class<T> entityClass) {
+            this.entityClass = entityClass;
+            this.tableName = toSnakeCase(entityClass.getSimpleName());
+        }
+
+        /**
+         * Sets the table name.
+         *
+         * @param tableName the table name
+         * @return the builder
+         */
+        public Builder<T> table(final String tableName) {
+            this.tableName = tableName;
+
+            return this;
+        }
+
+        /**
+         * Maps a property to a column.
+         *
+         * @param property   the property name
+         * @param columnName the column name
+         * @return the builder
+         */
+        public Builder<T> column(final String property, final String columnName) {
+            columns.add(new ColumnMapping(property, columnName, compileGetter(entityClass, property), null));
+
+            return this;
+        }
+
+        /**
+         * Maps an id property that is set on the entity before inserting, rather than generated.
+         *
+         * @param property   the id property name
+         * @param columnName the id column name
+         * @return the builder
+         */
+        public Builder<T> id(final String property, final String columnName) {
+            this.idProperty = property;
+            this.idColumn = null;
+            this.idValueExpression = null;
+
+            return column(property, columnName);
+        }
+
+        /**
+         * Maps a relationship property to a foreign key column holding the id of the related entity.
+         *
+         * @param property          the property name
+         * @param columnName        the foreign key column name
+         * @param relatedIdProperty the name of the id property on the related entity
+         * @return the builder
+         */
+        public Builder<T> relationshipColumn(final String property, final String columnName, final String relatedIdProperty) {
+            final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+
+            if (descriptor == null) {
+                throw new EntityFactoryException(
+                        String.format("Property %s does not exist on entity of type %s", property, entityClass));
+            }
+
+            columns.add(new ColumnMapping(
+                    property,
+                    columnName,
+                    compileGetter(entityClass, property),
+                    compileGetter(descriptor.getPropertyType(), relatedIdProperty)));
+
+            return this;
+        }
+
+        /**
+         * Maps an id generated by the database, e.g. an identity column, that is read back after inserting.
+         *
+         * @param property   the id property name
+         * @param columnName the id column name
+         * @return the builder
+         */
+        public Builder<T> generatedId(final String property, final String columnName) {
+            return generatedId(property, columnName, null);
+        }
+
+        /**
+         * Maps an id generated by an SQL expression in the INSERT statement, e.g. {@code NEXT VALUE FOR my_sequence},
+         * that is read back after inserting.
+         *
+         * @param property          the id property name
+         * @param columnName        the id column name
+         * @param idValueExpression the SQL expression generating the id, or null if the database generates it
+         * @return the builder
+         */
+        public Builder<T> generatedId(final String property, final String columnName, final String idValueExpression) {
+            this.idProperty = property;
+            this.idColumn = columnName;
+            this.idValueExpression = idValueExpression;
+
+            return this;
+        }
+
+        /**
+         * Builds the mapping.
+         *
+         * @return the mapping
+         */
+        public JdbcEntityMapping<T> build() {
+            return new JdbcEntityMapping<>(entityClass, tableName, idProperty, idColumn, idValueExpression, new ArrayList<>(columns));
+        }
+    }
+}
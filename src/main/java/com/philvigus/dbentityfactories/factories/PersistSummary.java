@@ -0,0 +1,205 @@
+package com.philvigus.dbentityfactories.factories;
+
+import java.time.Duration;
+
+/**
+ * A summary of a bulk persist, returned instead of the persisted entities so that they can be garbage collected as
+ * soon as they have been written.
+ */
+public final class PersistSummary {
+    /**
+     * How much of the generated ids a bulk persist should record.
+     */
+    public enum IdCollection {
+        /**
+         * Don't record any ids.
+         */
+        NONE,
+
+        /**
+         * Record the lowest and highest ids.
+         */
+        RANGE,
+
+        /**
+         * Record every id, in the order the entities were persisted.
+         */
+        ALL
+    }
+
+    private final long rowsWritten;
+
+    private final Duration elapsed;
+
+    private final long minId;
+
+    private final long maxId;
+
+    private final long[] ids;
+
+    /**
+     * Instantiates a new persist summary.
+     *
+     * @param rowsWritten the number of entities persisted
+     * @param elapsed     the time taken to create and persist the entities
+     * @param minId       the lowest id persisted, or {@link Long#MAX_VALUE} if ids weren't recorded
+     * @param maxId       the highest id persisted, or {@link Long#MIN_VALUE} if ids weren't recorded
+     * @param ids         every id persisted, or null if they weren't recorded
+     */
+    PersistSummary(final long rowsWritten, final Duration elapsed, final long minId, final long maxId, final long[] ids) {
+        this.rowsWritten = rowsWritten;
+        this.elapsed = elapsed;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.ids = ids;
+    }
+
+    /**
+     * Gets the number of entities persisted.
+     *
+     * @return the rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Gets the time taken to create and persist the entities.
+     *
+     * @return the elapsed time
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns whether the range of ids was recorded.
+     *
+     * @return whether the id range is available
+     */
+    public boolean hasIdRange() {
+        return minId <= maxId;
+    }
+
+    /**
+     * Gets the lowest id persisted.
+     *
+     * @return the lowest id
+     */
+    public long getMinId() {
+        if (!hasIdRange()) {
+            throw new IllegalStateException("Ids were not recorded");
+        }
+
+        return minId;
+    }
+
+    /**
+     * Gets the highest id persisted.
+     *
+     * @return the highest id
+     */
+    public long getMaxId() {
+        if (!hasIdRange()) {
+            throw new IllegalStateException("Ids were not recorded");
+        }
+
+        return maxId;
+    }
+
+    /**
+     * Returns whether every id was recorded.
+     *
+     * @return whether the ids are available
+     */
+    public boolean hasIds() {
+        return ids != null;
+    }
+
+    /**
+     * Gets every id persisted, in the order the entities were persisted. The array is not copied.
+     *
+     * @return the ids
+     */
+    public long[] getIds() {
+        if (ids == null) {
+            throw new IllegalStateException("Ids were not recorded");
+        }
+
+        return ids;
+    }
+
+    /**
+     * Records entities as they are persisted and builds the summary.
+     */
+    static final class Recorder {
+        private final IdCollection idCollection;
+
+        private final long[] ids;
+
+        private final long startTime = System.nanoTime();
+
+        private long rowsWritten;
+
+        private long minId = Long.MAX_VALUE;
+
+        private long maxId = Long.MIN_VALUE;
+
+        /**
+         * Instantiates a new recorder.
+         *
+         * @param copies       the number of entities that will be persisted
+         * @param idCollection how much of the generated ids to record
+         */
+        Recorder(final long copies, final IdCollection idCollection) {
+            if (idCollection == IdCollection.ALL && copies > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Every id can only be recorded for up to Integer.MAX_VALUE copies");
+            }
+
+            this.idCollection = idCollection;
+            this.ids = idCollection == IdCollection.ALL ? new long[(int) copies] : null;
+        }
+
+        /**
+         * Returns whether the recorder needs the ids of persisted entities.
+         *
+         * @return whether ids are recorded
+         */
+        boolean isRecordingIds() {
+            return idCollection != IdCollection.NONE;
+        }
+
+        /**
+         * Records an entity being persisted.
+         *
+         * @param id the id of the entity, ignored if ids aren't being recorded
+         */
+        void record(final Object id) {
+            if (isRecordingIds()) {
+                if (!(id instanceof Number)) {
+                    throw new IllegalArgumentException(String.format("Unable to record id %s as a long", id));
+                }
+
+                final long longId = ((Number) id).longValue();
+
+                minId = Math.min(minId, longId);
+                maxId = Math.max(maxId, longId);
+
+                if (ids != null) {
+                    ids[(int) rowsWritten] = longId;
+                }
+            }
+
+            rowsWritten++;
+        }
+
+        /**
+         * Builds the summary.
+         *
+         * @return the summary
+         */
+        PersistSummary finish() {
+            return new PersistSummary(rowsWritten, Duration.ofNanos(System.nanoTime() - startTime), minId, maxId, ids);
+        }
+    }
+}
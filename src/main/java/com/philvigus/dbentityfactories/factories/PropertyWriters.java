@@ -0,0 +1,145 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import org.apache.commons.beanutils.ConversionException;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A cache of compiled property writers for an entity class.
+ * <p>
+ * Each property is introspected once, the first time it is written, and its setter is compiled into a
+ * {@link BiConsumer} so that setting attributes on subsequent entities is a direct method call.
+ *
+ * @param <T> the type of the entity the writers set properties on
+ */
+final class PropertyWriters<T> {
+    private final Class<T> entityClass;
+
+    private final Map<String, BiConsumer<T, Object>> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new property writer cache.
+     *
+     * @param entityClass the entity class
+     */
+    PropertyWriters(final Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Gets the writer for a property, compiling it if this is the first time it has been requested.
+     *
+     * @param name the property name
+     * @return the property writer
+     */
+    BiConsumer<T, Object> getWriter(final String name) {
+        final BiConsumer<T, Object> writer = writers.get(name);
+
+        return writer != null ? writer : writers.computeIfAbsent(name, this::compileWriter);
+    }
+
+    private BiConsumer<T, Object> compileWriter(final String name) {
+        final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, name);
+
+        if (descriptor == null || descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null) {
+            throw new EntityFactoryException(
+                    String.format("Property %s does not exist on entity of type %s", name, entityClass));
+        }
+
+        final Method setter = descriptor.getWriteMethod();
+        final Class<?> propertyType = setter.getParameterTypes()[0];
+        final Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+        final BiConsumer<T, Object> setterCall = compileSetter(setter, boxedType);
+
+        return (entity, value) -> {
+            // values that already have the property's type are passed straight through. Anything else goes through
+            // the same conversion BeanUtils.setProperty used to apply, e.g. an Integer supplier for a String property
+            final Object propertyValue = boxedType.isInstance(value) || (value == null && !propertyType.isPrimitive())
+                    ? value
+                    : convert(name, value, propertyType);
+
+            try {
+                setterCall.accept(entity, propertyValue);
+            } catch (RuntimeException e) {
+                throw new EntityFactoryException(
+                        String.format("Unable to set property %s to %s on entity of type %s", name, value, entityClass), e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiConsumer<T, Object> compileSetter(final Method setter, final Class<?> boxedType) {
+        final MethodHandles.Lookup lookup;
+        final MethodHandle handle;
+
+        try {
+            lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            handle = lookup.unreflect(setter);
+        } catch (IllegalAccessException e) {
+            throw new EntityFactoryException(
+                    String.format("Unable to access setter for property %s on entity of type %s", setter.getName(), entityClass), e);
+        }
+
+        final CallSite callSite;
+
+        try {
+            callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, setter.getDeclaringClass(), boxedType));
+        } catch (LambdaConversionException e) {
+            // the lambda can't be spun for some setters (e.g. those on classes hidden from this class loader),
+            // in which case we fall back to invoking the method handle directly
+            return invokeHandle(handle);
+        }
+
+        try {
+            return (BiConsumer<T, Object>) callSite.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EntityFactoryException(
+                    String.format("Unable to compile setter for property %s on entity of type %s", setter.getName(), entityClass), e);
+        }
+    }
+
+    private BiConsumer<T, Object> invokeHandle(final MethodHandle handle) {
+        final MethodHandle genericHandle = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        return (entity, value) -> {
+            try {
+                genericHandle.invokeExact((Object) entity, value);
+            } catch (RuntimeException | Error err) {
+                throw err;
+            } catch (Throwable err) {
+                throw new IllegalStateException(err);
+            }
+        };
+    }
+
+    private Object convert(final String name, final Object value, final Class<?> propertyType) {
+        try {
+            return ConvertUtils.convert(value, propertyType);
+        } catch (ConversionException e) {
+            throw new EntityFactoryException(
+                    String.format("Unable to set property %s to %s on entity of type %s", name, value, entityClass), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.philvigus.dbentityfactories.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event recording the value of an attribute being supplied, including any unique-value retries.
+ * <p>
+ * Only values taking at least a millisecond to supply are recorded by default, which can be lowered in the recording
+ * settings.
+ */
+@Name(AttributePopulationEvent.NAME)
+@Label("Attribute Population")
+@Description("The value of an entity's attribute being supplied by an entity factory")
+@Category("DB Entity Factories")
+@Threshold("1 ms")
+@StackTrace(false)
+public class AttributePopulationEvent extends Event {
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "com.philvigus.dbentityfactories.AttributePopulation";
+
+    @Label("Entity Class")
+    private Class<?> entityClass;
+
+    @Label("Attribute Name")
+    private String attributeName;
+
+    @Label("Custom")
+    @Description("Whether the value came from a custom attribute rather than a default one")
+    private boolean custom;
+
+    /**
+     * Sets the class of the entity the attribute belongs to.
+     *
+     * @param entityClass the entity class
+     */
+    public void setEntityClass(final Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Sets the name of the attribute.
+     *
+     * @param attributeName the attribute name
+     */
+    public void setAttributeName(final String attributeName) {
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Sets whether the value came from a custom attribute rather than a default one.
+     *
+     * @param custom whether the attribute is custom
+     */
+    public void setCustom(final boolean custom) {
+        this.custom = custom;
+    }
+}
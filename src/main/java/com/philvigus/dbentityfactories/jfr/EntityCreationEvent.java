@@ -0,0 +1,40 @@
+package com.philvigus.dbentityfactories.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event recording an entity being instantiated and having its attributes set.
+ * <p>
+ * Only entities taking at least a millisecond to create are recorded by default, which can be lowered in the recording
+ * settings.
+ */
+@Name(EntityCreationEvent.NAME)
+@Label("Entity Creation")
+@Description("An entity being instantiated and having its attributes set by an entity factory")
+@Category("DB Entity Factories")
+@Threshold("1 ms")
+@StackTrace(false)
+public class EntityCreationEvent extends Event {
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "com.philvigus.dbentityfactories.EntityCreation";
+
+    @Label("Entity Class")
+    private Class<?> entityClass;
+
+    /**
+     * Sets the class of the entity created.
+     *
+     * @param entityClass the entity class
+     */
+    public void setEntityClass(final Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+}
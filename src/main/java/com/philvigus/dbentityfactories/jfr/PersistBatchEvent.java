@@ -0,0 +1,45 @@
+package com.philvigus.dbentityfactories.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event recording a batch of entities being written to the database.
+ */
+@Name(PersistBatchEvent.NAME)
+@Label("Persist Batch")
+@Description("A batch of entities being written to the database by an entity factory")
+@Category("DB Entity Factories")
+public class PersistBatchEvent extends Event {
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "com.philvigus.dbentityfactories.PersistBatch";
+
+    @Label("Entity Class")
+    private Class<?> entityClass;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    /**
+     * Sets the class of the entities persisted.
+     *
+     * @param entityClass the entity class
+     */
+    public void setEntityClass(final Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Sets the number of entities in the batch.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
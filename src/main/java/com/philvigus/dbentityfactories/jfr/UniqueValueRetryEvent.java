@@ -0,0 +1,60 @@
+package com.philvigus.dbentityfactories.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event recording a unique value that took more than one attempt to find, spanning every attempt.
+ * <p>
+ * Events recorded by a default attribute don't know the entity class, which can be found from the enclosing
+ * {@link AttributePopulationEvent} or the stack trace.
+ */
+@Name(UniqueValueRetryEvent.NAME)
+@Label("Unique Value Retry")
+@Description("A unique attribute value that had to be retried because it had been used already")
+@Category("DB Entity Factories")
+public class UniqueValueRetryEvent extends Event {
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "com.philvigus.dbentityfactories.UniqueValueRetry";
+
+    @Label("Entity Class")
+    private Class<?> entityClass;
+
+    @Label("Attribute Name")
+    private String attributeName;
+
+    @Label("Attempts")
+    private int attempts;
+
+    /**
+     * Sets the class of the entity the attribute belongs to.
+     *
+     * @param entityClass the entity class
+     */
+    public void setEntityClass(final Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Sets the name of the attribute.
+     *
+     * @param attributeName the attribute name
+     */
+    public void setAttributeName(final String attributeName) {
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Sets the number of attempts made to find the value.
+     *
+     * @param attempts the attempts
+     */
+    public void setAttempts(final int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -0,0 +1,39 @@
+package com.philvigus.dbentityfactories.metrics;
+
+/**
+ * Records how many entities a factory creates and persists, and how long it spends doing so.
+ * <p>
+ * Factories use {@link #NOOP} until they are given another implementation, which they skip timing for entirely, so
+ * metrics cost nothing unless they are enabled.
+ */
+public interface FactoryMetrics {
+    /**
+     * Metrics that record nothing.
+     */
+    FactoryMetrics NOOP = new FactoryMetrics() {
+        @Override
+        public void recordCreated(final long nanos) {
+            // nothing is recorded
+        }
+
+        @Override
+        public void recordPersisted(final int count, final long nanos) {
+            // nothing is recorded
+        }
+    };
+
+    /**
+     * Records an entity being created, i.e. instantiated and having its attributes set.
+     *
+     * @param nanos the time taken to create the entity
+     */
+    void recordCreated(long nanos);
+
+    /**
+     * Records a batch of entities being written to the database.
+     *
+     * @param count the number of entities in the batch
+     * @param nanos the time taken to write the batch, excluding the time taken to create its entities
+     */
+    void recordPersisted(int count, long nanos);
+}
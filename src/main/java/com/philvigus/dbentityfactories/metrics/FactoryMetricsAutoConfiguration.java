@@ -0,0 +1,43 @@
+package com.philvigus.dbentityfactories.metrics;
+
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Auto-configuration that records Micrometer metrics for every entity factory bean, when Micrometer is on the
+ * classpath and the application has a {@link MeterRegistry}. Disabled by setting {@code db-entity-factories.metrics.enabled}
+ * to false.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "db-entity-factories.metrics", name = "enabled", matchIfMissing = true)
+public class FactoryMetricsAutoConfiguration {
+    /**
+     * Gives each entity factory bean Micrometer metrics, leaving them with no-op metrics if there is no registry.
+     *
+     * @param meterRegistry the registry, looked up lazily so that it isn't created early
+     * @return the bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor entityFactoryMetricsPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+                if (bean instanceof BaseEntityFactory) {
+                    final BaseEntityFactory<?> factory = (BaseEntityFactory<?>) bean;
+
+                    meterRegistry.ifAvailable(registry ->
+                            factory.setMetrics(new MicrometerFactoryMetrics(registry, factory.getEntityClass())));
+                }
+
+                return bean;
+            }
+        };
+    }
+}
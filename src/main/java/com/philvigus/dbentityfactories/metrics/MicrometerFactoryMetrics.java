@@ -0,0 +1,97 @@
+package com.philvigus.dbentityfactories.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory metrics recorded with Micrometer, tagged with the fully qualified name of the entity class.
+ */
+public class MicrometerFactoryMetrics implements FactoryMetrics {
+    /**
+     * The name of the counter of entities created.
+     */
+    public static final String CREATED = "entity.factory.created";
+
+    /**
+     * The name of the timer of the time taken to create each entity.
+     */
+    public static final String GENERATION = "entity.factory.generation";
+
+    /**
+     * The name of the counter of entities persisted.
+     */
+    public static final String PERSISTED = "entity.factory.persisted";
+
+    /**
+     * The name of the timer of the time taken to write each batch of entities to the database.
+     */
+    public static final String PERSISTENCE = "entity.factory.persistence";
+
+    /**
+     * The name of the distribution summary of the number of entities written in each batch.
+     */
+    public static final String BATCH_SIZE = "entity.factory.batch.size";
+
+    /**
+     * The name of the tag holding the fully qualified name of the entity class.
+     */
+    public static final String ENTITY_TAG = "entity";
+
+    private final Counter created;
+
+    private final Timer generation;
+
+    private final Counter persisted;
+
+    private final Timer persistence;
+
+    private final DistributionSummary batchSize;
+
+    /**
+     * Instantiates new Micrometer factory metrics.
+     *
+     * @param registry    the registry to register the meters with
+     * @param entityClass the class of the entity the factory creates
+     */
+    public MicrometerFactoryMetrics(final MeterRegistry registry, final Class<?> entityClass) {
+        final String entity = entityClass.getName();
+
+        this.created = Counter.builder(CREATED)
+                .description("Entities created by the factory")
+                .tag(ENTITY_TAG, entity)
+                .register(registry);
+        this.generation = Timer.builder(GENERATION)
+                .description("Time taken to create each entity")
+                .tag(ENTITY_TAG, entity)
+                .register(registry);
+        this.persisted = Counter.builder(PERSISTED)
+                .description("Entities written to the database by the factory")
+                .tag(ENTITY_TAG, entity)
+                .register(registry);
+        this.persistence = Timer.builder(PERSISTENCE)
+                .description("Time taken to write each batch of entities to the database")
+                .tag(ENTITY_TAG, entity)
+                .register(registry);
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+                .description("Number of entities written to the database in each batch")
+                .tag(ENTITY_TAG, entity)
+                .register(registry);
+    }
+
+    @Override
+    public void recordCreated(final long nanos) {
+        created.increment();
+        generation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPersisted(final int count, final long nanos) {
+        persisted.increment(count);
+        persistence.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(count);
+    }
+}
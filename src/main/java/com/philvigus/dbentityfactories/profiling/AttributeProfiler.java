@@ -0,0 +1,261 @@
+package com.philvigus.dbentityfactories.profiling;
+
+import com.philvigus.dbentityfactories.attributes.BaseAttribute;
+import com.philvigus.dbentityfactories.attributes.CustomAttribute;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Profiles how expensive each attribute of a factory's entities is to generate.
+ * <p>
+ * Once set on one or more factories with {@code setAttributeProfiler}, the profiler records how many values each
+ * attribute supplied, the time taken to supply them, an estimate of the memory allocated while doing so, and how many
+ * times a unique value had to be retried. The report ranks the attributes by the total time spent on them.
+ * <p>
+ * Allocation is measured with the JVM's per-thread allocation counter, so it includes anything allocated by the
+ * supplier, such as entities persisted by it, and is unavailable on JVMs without the counter. Retries of unique
+ * default attributes are read from their collision statistics, so when entities are created on several threads at once
+ * they may be counted against a different thread's value, though the totals are unaffected.
+ */
+public class AttributeProfiler {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMxBean();
+
+    private final Map<Class<?>, Map<String, Entry>> defaultEntries = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Map<String, Entry>> customEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the entry recording an attribute of an entity, creating it the first time it's needed.
+     *
+     * @param entityClass the class of the entity the attribute belongs to
+     * @param attribute   the attribute
+     * @return the entry
+     */
+    public Entry getEntry(final Class<?> entityClass, final BaseAttribute<?> attribute) {
+        final boolean custom = attribute instanceof CustomAttribute;
+        final Map<String, Entry> entityEntries = (custom ? customEntries : defaultEntries)
+                .computeIfAbsent(entityClass, key -> new ConcurrentHashMap<>());
+
+        return entityEntries.computeIfAbsent(attribute.getName(), name -> new Entry(entityClass, name, custom));
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated, or -1 if the JVM can't measure it.
+     *
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Gets every entry, ranked by the total time spent supplying values, most expensive first.
+     *
+     * @return the entries
+     */
+    public List<Entry> getReport() {
+        final List<Entry> report = new ArrayList<>();
+
+        defaultEntries.values().forEach(entityEntries -> report.addAll(entityEntries.values()));
+        customEntries.values().forEach(entityEntries -> report.addAll(entityEntries.values()));
+        report.sort(Comparator.comparingLong(Entry::getTotalNanos).reversed());
+
+        return report;
+    }
+
+    /**
+     * Prints the ranked report as a table.
+     *
+     * @param out the stream to print to
+     */
+    public void printReport(final PrintStream out) {
+        out.printf("%-4s %-48s %12s %12s %12s %14s %10s%n",
+                "Rank", "Attribute", "Calls", "Total ms", "Avg us", "Avg bytes", "Retries");
+
+        int rank = 1;
+
+        for (final Entry entry : getReport()) {
+            out.printf("%-4d %-48s %12d %12.1f %12.2f %14s %10d%n",
+                    rank++,
+                    entry.getEntityClass().getSimpleName() + "." + entry.getAttributeName() + (entry.isCustom() ? " (custom)" : ""),
+                    entry.getCalls(),
+                    entry.getTotalNanos() / 1_000_000.0,
+                    entry.getAverageNanos() / 1_000.0,
+                    entry.getAverageAllocatedBytes() < 0 ? "n/a" : String.valueOf(entry.getAverageAllocatedBytes()),
+                    entry.getUniqueRetries());
+        }
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public void reset() {
+        defaultEntries.clear();
+        customEntries.clear();
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMxBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        final com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        if (!threadMxBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+
+        threadMxBean.setThreadAllocatedMemoryEnabled(true);
+
+        return threadMxBean;
+    }
+
+    /**
+     * The profile of a single attribute.
+     */
+    public static final class Entry {
+        private final Class<?> entityClass;
+
+        private final String attributeName;
+
+        private final boolean custom;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private final LongAdder uniqueRetries = new LongAdder();
+
+        private volatile boolean allocationMeasured = true;
+
+        private Entry(final Class<?> entityClass, final String attributeName, final boolean custom) {
+            this.entityClass = entityClass;
+            this.attributeName = attributeName;
+            this.custom = custom;
+        }
+
+        /**
+         * Records a value being supplied.
+         *
+         * @param nanos          the time taken to supply the value
+         * @param allocatedBytes the bytes allocated while supplying the value, or a negative number if unknown
+         */
+        public void record(final long nanos, final long allocatedBytes) {
+            calls.increment();
+            totalNanos.add(nanos);
+
+            if (allocatedBytes < 0) {
+                allocationMeasured = false;
+            } else {
+                this.allocatedBytes.add(allocatedBytes);
+            }
+        }
+
+        /**
+         * Records unique values having to be retried.
+         *
+         * @param retries the number of retries
+         */
+        public void recordUniqueRetries(final long retries) {
+            uniqueRetries.add(retries);
+        }
+
+        /**
+         * Gets the class of the entity the attribute belongs to.
+         *
+         * @return the entity class
+         */
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        /**
+         * Gets the attribute name.
+         *
+         * @return the attribute name
+         */
+        public String getAttributeName() {
+            return attributeName;
+        }
+
+        /**
+         * Returns whether the entry records a custom attribute rather than a default one.
+         *
+         * @return whether the attribute is custom
+         */
+        public boolean isCustom() {
+            return custom;
+        }
+
+        /**
+         * Gets the number of values supplied.
+         *
+         * @return the number of calls
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * Gets the total time taken to supply values.
+         *
+         * @return the total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Gets the average time taken to supply a value.
+         *
+         * @return the average time in nanoseconds
+         */
+        public double getAverageNanos() {
+            final long calls = getCalls();
+
+            return calls == 0 ? 0 : (double) getTotalNanos() / calls;
+        }
+
+        /**
+         * Gets the total bytes allocated while supplying values.
+         *
+         * @return the allocated bytes, or -1 if they couldn't be measured
+         */
+        public long getAllocatedBytes() {
+            return allocationMeasured ? allocatedBytes.sum() : -1;
+        }
+
+        /**
+         * Gets the average bytes allocated while supplying a value.
+         *
+         * @return the average allocated bytes, or -1 if they couldn't be measured
+         */
+        public long getAverageAllocatedBytes() {
+            final long calls = getCalls();
+
+            if (!allocationMeasured) {
+                return -1;
+            }
+
+            return calls == 0 ? 0 : allocatedBytes.sum() / calls;
+        }
+
+        /**
+         * Gets the number of times a unique value had to be retried.
+         *
+         * @return the number of retries
+         */
+        public long getUniqueRetries() {
+            return uniqueRetries.sum();
+        }
+    }
+}
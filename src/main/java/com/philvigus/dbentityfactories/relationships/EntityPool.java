@@ -0,0 +1,247 @@
+package com.philvigus.dbentityfactories.relationships;
+
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.factories.GenerationContext;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A pool of persisted entities, used as the supplier of a relationship attribute so that many entities share a fixed
+ * number of related entities rather than each persisting its own.
+ * <p>
+ * The pool is filled the first time an entity is taken from it, with a single bulk persist of the dependent factory,
+ * so a child factory using a pool of parents costs one INSERT per child plus one batched fill. Entities taken while
+ * only creating entities come from a separate pool of entities that are created without being persisted:
+ *
+ * <pre>{@code
+ * new DefaultAttribute<>("parent", EntityPool.roundRobin(dependentFactories[0], 100))
+ * }</pre>
+ * <p>
+ * Random and weighted pools follow the seed of the factory taking entities from them, picking the same pooled entity
+ * for the same entity and attribute every time. The pooled entities themselves follow the seed of the pool's own
+ * factory.
+ *
+ * @param <T> the type of the pooled entities
+ */
+public final class EntityPool<T> implements Supplier<T> {
+    /**
+     * How entities are taken from the pool.
+     */
+    public enum Assignment {
+        /**
+         * Take each entity in turn, so they are shared as evenly as possible.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Take entities uniformly at random.
+         */
+        RANDOM,
+
+        /**
+         * Take entities at random in proportion to their weights.
+         */
+        WEIGHTED
+    }
+
+    private final BaseEntityFactory<T> factory;
+
+    private final int size;
+
+    private final Assignment assignment;
+
+    private final double[] cumulativeWeights;
+
+    private final AtomicLong next = new AtomicLong();
+
+    private volatile List<T> entities;
+
+    private volatile List<T> transientEntities;
+
+    private EntityPool(
+            final BaseEntityFactory<T> factory,
+            final int size,
+            final Assignment assignment,
+            final double[] cumulativeWeights) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+
+        this.factory = factory;
+        this.size = size;
+        this.assignment = assignment;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * Creates a pool that hands out its entities in turn.
+     *
+     * @param <T>     the type of the pooled entities
+     * @param factory the factory used to persist the pooled entities
+     * @param size    the number of entities in the pool
+     * @return the pool
+     */
+    public static <T> EntityPool<T> roundRobin(final BaseEntityFactory<T> factory, final int size) {
+        return new EntityPool<>(factory, size, Assignment.ROUND_ROBIN, null);
+    }
+
+    /**
+     * Creates a pool that hands out its entities uniformly at random.
+     *
+     * @param <T>     the type of the pooled entities
+     * @param factory the factory used to persist the pooled entities
+     * @param size    the number of entities in the pool
+     * @return the pool
+     */
+    public static <T> EntityPool<T> random(final BaseEntityFactory<T> factory, final int size) {
+        return new EntityPool<>(factory, size, Assignment.RANDOM, null);
+    }
+
+    /**
+     * Creates a pool with one entity per weight, handing out each entity at random in proportion to its weight. For
+     * example weights of {@code 8, 1, 1} give the first entity 80% of the references.
+     *
+     * @param <T>     the type of the pooled entities
+     * @param factory the factory used to persist the pooled entities
+     * @param weights the weight of each entity in the pool
+     * @return the pool
+     */
+    public static <T> EntityPool<T> weighted(final BaseEntityFactory<T> factory, final double... weights) {
+        final double[] cumulativeWeights = new double[weights.length];
+        double total = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException("weights must be finite and not negative");
+            }
+
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+
+        if (weights.length > 0 && total == 0) {
+            throw new IllegalArgumentException("at least one weight must be greater than 0");
+        }
+
+        return new EntityPool<>(factory, weights.length, Assignment.WEIGHTED, cumulativeWeights);
+    }
+
+    /**
+     * Takes an entity from the pool, persisting the pool's entities first if they haven't been already.
+     *
+     * @return the entity
+     */
+    @Override
+    public T get() {
+        return (GenerationContext.isCreating() ? getTransientEntities() : getEntities()).get(nextIndex());
+    }
+
+    /**
+     * Gets the pooled entities, persisting them first if they haven't been already.
+     *
+     * @return the unmodifiable list of entities
+     */
+    public List<T> getEntities() {
+        List<T> pooled = entities;
+
+        if (pooled == null) {
+            synchronized (this) {
+                pooled = entities;
+
+                if (pooled == null) {
+                    pooled = Collections.unmodifiableList(factory.persist(size));
+                    entities = pooled;
+                }
+            }
+        }
+
+        return pooled;
+    }
+
+    /**
+     * Gets the pooled entities handed out while only creating entities, creating them without persisting them first
+     * if they haven't been already.
+     *
+     * @return the unmodifiable list of entities
+     */
+    public List<T> getTransientEntities() {
+        List<T> pooled = transientEntities;
+
+        if (pooled == null) {
+            synchronized (this) {
+                pooled = transientEntities;
+
+                if (pooled == null) {
+                    pooled = Collections.unmodifiableList(factory.create(size));
+                    transientEntities = pooled;
+                }
+            }
+        }
+
+        return pooled;
+    }
+
+    /**
+     * Gets the number of entities in the pool.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets how entities are taken from the pool.
+     *
+     * @return the assignment
+     */
+    public Assignment getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * Empties the pool, so that a new set of entities is persisted or created the next time one is taken. Useful after the
+     * database has been cleared.
+     */
+    public synchronized void clear() {
+        entities = null;
+        transientEntities = null;
+        next.set(0);
+    }
+
+    private int nextIndex() {
+        switch (assignment) {
+            case ROUND_ROBIN:
+                return (int) Long.remainderUnsigned(next.getAndIncrement(), size);
+            case RANDOM:
+                return SeedContext.getAttributeRandom().nextInt(size);
+            default:
+                final Random random = SeedContext.getAttributeRandom();
+
+                return nextWeightedIndex(random.nextDouble() * cumulativeWeights[size - 1]);
+        }
+    }
+
+    private int nextWeightedIndex(final double target) {
+        int low = 0;
+        int high = size - 1;
+
+        // find the first entity whose range ends after the target, skipping any with a weight of 0
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+}
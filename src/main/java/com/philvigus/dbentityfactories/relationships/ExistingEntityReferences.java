@@ -0,0 +1,135 @@
+package com.philvigus.dbentityfactories.relationships;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.factories.HibernateEntityFactory;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Refers to entities that already exist in the database, used as the supplier of a relationship attribute so that new
+ * entities can point at existing ones rather than creating their own.
+ * <p>
+ * The first time a reference is needed, a reservoir of existing ids is sampled by streaming the ids from the database.
+ * Every reference after that is a proxy for one of the sampled ids from {@code EntityManager.getReference}, so linking
+ * an entity to an existing one doesn't cost a SELECT:
+ *
+ * <pre>{@code
+ * new DefaultAttribute<>("parent", ExistingEntityReferences.sample((ParentEntityFactory) dependentFactories[0], 10_000))
+ * }</pre>
+ * <p>
+ * Both the sampled ids and the references handed out follow the seed of the factory using them, so a seeded factory
+ * refers to the same existing entities every run as long as the existing entities don't change.
+ *
+ * @param <T> the type of the referenced entities
+ */
+public final class ExistingEntityReferences<T> implements Supplier<T> {
+    /**
+     * The default number of ids fetched from the database at a time while sampling.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private final HibernateEntityFactory<T> factory;
+
+    private final int reservoirSize;
+
+    private final int fetchSize;
+
+    private volatile Object[] ids;
+
+    private ExistingEntityReferences(final HibernateEntityFactory<T> factory, final int reservoirSize, final int fetchSize) {
+        if (reservoirSize < 1) {
+            throw new IllegalArgumentException("reservoirSize must be greater than 0");
+        }
+
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be greater than 0");
+        }
+
+        this.factory = factory;
+        this.reservoirSize = reservoirSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Creates a supplier of references to existing entities, sampled uniformly from every existing entity.
+     *
+     * @param <T>           the type of the referenced entities
+     * @param factory       the factory of the referenced entities
+     * @param reservoirSize the maximum number of distinct entities referred to
+     * @return the supplier
+     */
+    public static <T> ExistingEntityReferences<T> sample(final HibernateEntityFactory<T> factory, final int reservoirSize) {
+        return sample(factory, reservoirSize, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Creates a supplier of references to existing entities, sampled uniformly from every existing entity.
+     *
+     * @param <T>           the type of the referenced entities
+     * @param factory       the factory of the referenced entities
+     * @param reservoirSize the maximum number of distinct entities referred to
+     * @param fetchSize     the number of ids fetched from the database at a time while sampling
+     * @return the supplier
+     */
+    public static <T> ExistingEntityReferences<T> sample(
+            final HibernateEntityFactory<T> factory,
+            final int reservoirSize,
+            final int fetchSize) {
+        return new ExistingEntityReferences<>(factory, reservoirSize, fetchSize);
+    }
+
+    /**
+     * Gets a reference to a random sampled entity, sampling the existing entities first if they haven't been already.
+     *
+     * @return the reference
+     */
+    @Override
+    public T get() {
+        final Object[] sampledIds = getIds();
+
+        return factory.getReference(sampledIds[SeedContext.getAttributeRandom().nextInt(sampledIds.length)]);
+    }
+
+    /**
+     * Gets the number of sampled ids, sampling the existing entities first if they haven't been already.
+     *
+     * @return the number of sampled ids
+     */
+    public int getSampledCount() {
+        return getIds().length;
+    }
+
+    /**
+     * Discards the sampled ids, so that the existing entities are sampled again the next time a reference is needed.
+     * Useful after entities have been added or deleted.
+     */
+    public synchronized void refresh() {
+        ids = null;
+    }
+
+    private Object[] getIds() {
+        Object[] sampledIds = ids;
+
+        if (sampledIds == null) {
+            synchronized (this) {
+                sampledIds = ids;
+
+                if (sampledIds == null) {
+                    final List<Object> sample = factory.sampleIds(reservoirSize, fetchSize);
+
+                    if (sample.isEmpty()) {
+                        throw new EntityFactoryException(String.format(
+                                "There are no existing entities of type %s to refer to", factory.getEntityClass()));
+                    }
+
+                    sampledIds = sample.toArray();
+                    ids = sampledIds;
+                }
+            }
+        }
+
+        return sampledIds;
+    }
+}
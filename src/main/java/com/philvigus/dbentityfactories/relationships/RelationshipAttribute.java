@@ -0,0 +1,39 @@
+package com.philvigus.dbentityfactories.relationships;
+
+import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.factories.GenerationContext;
+
+/**
+ * A default attribute referring to another entity, created by that entity's factory.
+ * <p>
+ * When the owning entity is only being created the related entity is created in memory with the dependent factory's
+ * {@code create()}, and when the owning entity is being persisted the related entity is persisted first with its
+ * {@code persist()}, so in-memory generation never touches the database.
+ *
+ * @param <T> the type of the related entity
+ */
+public class RelationshipAttribute<T> extends DefaultAttribute<T> {
+    private final BaseEntityFactory<T> factory;
+
+    /**
+     * Instantiates a new relationship attribute.
+     *
+     * @param name    the name of the attribute
+     * @param factory the factory used to create or persist the related entity
+     */
+    public RelationshipAttribute(final String name, final BaseEntityFactory<T> factory) {
+        super(name, () -> GenerationContext.isCreating() ? factory.create() : factory.persist());
+
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the factory used to create or persist the related entity.
+     *
+     * @return the factory
+     */
+    public BaseEntityFactory<T> getFactory() {
+        return factory;
+    }
+}
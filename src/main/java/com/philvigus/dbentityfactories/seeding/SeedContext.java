@@ -0,0 +1,144 @@
+package com.philvigus.dbentityfactories.seeding;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the seed of the entity being populated on the current thread, for seeded attribute suppliers to derive their
+ * values from.
+ */
+public final class SeedContext {
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private SeedContext() {
+    }
+
+    /**
+     * Returns whether the entity being populated on the current thread is seeded.
+     *
+     * @return whether there is an entity seed
+     */
+    public static boolean isSeeded() {
+        return STATE.get().seeded;
+    }
+
+    /**
+     * Gets the seed of the entity being populated on the current thread.
+     *
+     * @return the entity seed
+     */
+    public static long getEntitySeed() {
+        final State state = STATE.get();
+
+        if (!state.seeded) {
+            throw new IllegalStateException("The current entity is not seeded");
+        }
+
+        return state.entitySeed;
+    }
+
+    /**
+     * Gets a number identifying the entity being populated on the current thread, different for every entity
+     * populated on the thread even if two entities have the same seed. Lets seeded suppliers tell when they need to
+     * restart their sequence.
+     *
+     * @return the entity's generation
+     */
+    public static long getGeneration() {
+        return STATE.get().generation;
+    }
+
+    /**
+     * Records the attribute of the seeded entity being populated on the current thread. Called by factories before
+     * getting each attribute's value.
+     *
+     * @param attributeName the name of the attribute
+     */
+    public static void setAttributeName(final String attributeName) {
+        STATE.get().attributeName = attributeName;
+    }
+
+    /**
+     * Gets a source of randomness for suppliers that pick from a fixed set of values, such as dictionaries and pools of
+     * entities, rather than generating them with a {@link SeededSupplier}.
+     * <p>
+     * When the entity being populated is seeded, the random is seeded from the entity's seed and the name of the
+     * attribute being populated the first time it is used for each attribute, so the same entities always pick the
+     * same values. Any further values for the same attribute, such as retries of a unique value, continue the same
+     * sequence. Otherwise it is the thread's {@link ThreadLocalRandom}.
+     * <p>
+     * The returned random must only be used on the current thread, and only until the next call.
+     *
+     * @return the random
+     */
+    public static Random getAttributeRandom() {
+        final State state = STATE.get();
+
+        if (!state.seeded) {
+            return ThreadLocalRandom.current();
+        }
+
+        if (state.random == null) {
+            state.random = new SeededRandom(0);
+        }
+
+        // attribute names come from the attributes themselves, so comparing references is enough to spot a new one
+        if (state.randomGeneration != state.generation || state.randomAttributeName != state.attributeName) {
+            state.random.setSeed(Seeds.forAttribute(
+                    state.entitySeed, state.attributeName == null ? "" : state.attributeName));
+            state.randomGeneration = state.generation;
+            state.randomAttributeName = state.attributeName;
+        }
+
+        return state.random;
+    }
+
+    /**
+     * Populates an entity with a seed, restoring the previous seed afterwards.
+     *
+     * @param entitySeed the seed of the entity
+     * @param operation  the operation populating the entity
+     * @param <R>        the type of the operation's result
+     * @return the operation's result
+     */
+    public static <R> R withEntitySeed(final long entitySeed, final Supplier<R> operation) {
+        final State state = STATE.get();
+        final boolean previousSeeded = state.seeded;
+        final long previousEntitySeed = state.entitySeed;
+        final long previousGeneration = state.generation;
+        final String previousAttributeName = state.attributeName;
+
+        state.seeded = true;
+        state.entitySeed = entitySeed;
+        state.generation = ++state.nextGeneration;
+        state.attributeName = null;
+
+        try {
+            return operation.get();
+        } finally {
+            state.seeded = previousSeeded;
+            state.entitySeed = previousEntitySeed;
+            state.generation = previousGeneration;
+            state.attributeName = previousAttributeName;
+        }
+    }
+
+    private static final class State {
+        private boolean seeded;
+
+        private long entitySeed;
+
+        private long generation;
+
+        private long nextGeneration;
+
+        private String attributeName;
+
+        private SeededRandom random;
+
+        private long randomGeneration;
+
+        private String randomAttributeName;
+    }
+}
@@ -0,0 +1,82 @@
+package com.philvigus.dbentityfactories.seeding;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Random} backed by a {@link SplittableRandom}, so that it can be handed to anything expecting a
+ * {@code Random}, such as a {@code Faker}, while producing the faster and statistically stronger SplittableRandom
+ * sequence. Reseeding it with {@link #setSeed(long)} is cheap, so one instance can be reused for every value.
+ * <p>
+ * Unlike {@code Random}, instances are not safe to share between threads.
+ */
+public class SeededRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private transient SplittableRandom random;
+
+    /**
+     * Instantiates a new seeded random.
+     *
+     * @param seed the seed
+     */
+    public SeededRandom(final long seed) {
+        super(seed);
+    }
+
+    private SeededRandom(final SplittableRandom random) {
+        super(0);
+
+        this.random = random;
+    }
+
+    /**
+     * Restarts the sequence from a seed.
+     *
+     * @param seed the seed
+     */
+    @Override
+    public void setSeed(final long seed) {
+        // called by the Random constructor, before this class's fields have been initialised
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Splits off a new random with a sequence independent of this one, for example to give to another worker.
+     *
+     * @return the new random
+     */
+    public SeededRandom split() {
+        return new SeededRandom(random.split());
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return (int) (random.nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
@@ -0,0 +1,66 @@
+package com.philvigus.dbentityfactories.seeding;
+
+import net.datafaker.Faker;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Supplies attribute values from a {@link Faker} whose randomness is derived from the seed of the entity being
+ * populated, so that a seeded factory always produces the same values for the same entities.
+ * <p>
+ * Each thread has its own Faker, backed by a {@link SeededRandom} that is reseeded from the entity and attribute name
+ * the first time a value is needed for each entity. Any further values for the same entity, such as retries of a
+ * unique value, continue the same sequence. When the factory isn't seeded the values are random.
+ *
+ * @param <T> the type of the values
+ */
+public final class SeededSupplier<T> implements Supplier<T> {
+    private final String attributeName;
+
+    private final Function<Faker, T> generator;
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    /**
+     * Instantiates a new seeded supplier.
+     *
+     * @param attributeName the name of the attribute the values are for, used to derive their seeds
+     * @param generator     generates a value from a Faker
+     */
+    public SeededSupplier(final String attributeName, final Function<Faker, T> generator) {
+        this.attributeName = attributeName;
+        this.generator = generator;
+    }
+
+    @Override
+    public T get() {
+        final State current = state.get();
+
+        if (SeedContext.isSeeded()) {
+            final long generation = SeedContext.getGeneration();
+
+            if (!current.seeded || current.generation != generation) {
+                current.random.setSeed(Seeds.forAttribute(SeedContext.getEntitySeed(), attributeName));
+                current.seeded = true;
+                current.generation = generation;
+            }
+        } else if (current.seeded) {
+            current.random.setSeed(ThreadLocalRandom.current().nextLong());
+            current.seeded = false;
+        }
+
+        return generator.apply(current.faker);
+    }
+
+    private static final class State {
+        private final SeededRandom random = new SeededRandom(ThreadLocalRandom.current().nextLong());
+
+        private final Faker faker = new Faker(random);
+
+        private boolean seeded;
+
+        private long generation;
+    }
+}
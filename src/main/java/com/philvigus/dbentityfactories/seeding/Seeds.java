@@ -0,0 +1,62 @@
+package com.philvigus.dbentityfactories.seeding;
+
+/**
+ * Derives the seeds of individual entities and attribute values from a factory's seed.
+ * <p>
+ * Each entity's seed depends only on the factory seed and the entity's index, and each value's seed only on its
+ * entity's seed and the attribute's name, so any range of entities can be generated independently of the others, on
+ * any number of threads or machines, and still produce the same values.
+ */
+public final class Seeds {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Seeds() {
+    }
+
+    /**
+     * Derives the seed of an entity.
+     *
+     * @param seed  the factory seed
+     * @param index the index of the entity, starting at 0
+     * @return the entity's seed
+     */
+    public static long forEntity(final long seed, final long index) {
+        return mix(seed + GOLDEN_GAMMA * (index + 1));
+    }
+
+    /**
+     * Derives the seed of an attribute value.
+     *
+     * @param entitySeed    the seed of the entity the value belongs to
+     * @param attributeName the name of the attribute
+     * @return the value's seed
+     */
+    public static long forAttribute(final long entitySeed, final String attributeName) {
+        return mix(entitySeed ^ mix(hash(attributeName)));
+    }
+
+    /**
+     * Mixes the bits of a value, so that nearby inputs give unrelated outputs.
+     *
+     * @param value the value
+     * @return the mixed value
+     */
+    public static long mix(final long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private static long hash(final String value) {
+        // FNV-1a, which unlike String.hashCode is 64 bits wide
+        long hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+
+        return hash;
+    }
+}
@@ -5,7 +5,6 @@ import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
 import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
 import com.philvigus.dbentityfactories.factories.HibernateEntityFactory;
 import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
-import net.datafaker.Faker;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Map;
@@ -18,8 +17,6 @@ public class BasicEntityHibernateFactory extends HibernateEntityFactory<BasicEnt
     public static final String LONG_ATTRIBUTE_NAME = "myLongAttribute";
     public static final String STRING_ATTRIBUTE_NAME = "myStringAttribute";
 
-    private static final Faker faker = new Faker();
-
     /**
      * Instantiates a new Basic entity factory.
      *
@@ -32,8 +29,8 @@ public class BasicEntityHibernateFactory extends HibernateEntityFactory<BasicEnt
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> BasicEntityHibernateFactory.faker.number().numberBetween(1L, 5L)),
-                new DefaultAttribute<>(BasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME, () -> BasicEntityHibernateFactory.faker.lorem().sentence())
+                DefaultAttribute.seeded(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, faker -> faker.number().numberBetween(1L, 5L)),
+                DefaultAttribute.seeded(BasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME, faker -> faker.lorem().sentence())
         );
     }
 }
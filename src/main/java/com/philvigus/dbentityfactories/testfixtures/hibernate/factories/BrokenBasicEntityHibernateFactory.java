@@ -18,7 +18,7 @@ public class BrokenBasicEntityHibernateFactory extends HibernateEntityFactory<Ba
     public static final String INCORRECT_ATTRIBUTE_NAME = "iDoNotExist";
     public static final String STRING_ATTRIBUTE_NAME = "myStringAttribute";
 
-    private static final Faker faker = new Faker();
+    private static final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
 
     /**
      * Instantiates a new Basic entity factory.
@@ -32,8 +32,8 @@ public class BrokenBasicEntityHibernateFactory extends HibernateEntityFactory<Ba
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>(BrokenBasicEntityHibernateFactory.INCORRECT_ATTRIBUTE_NAME, () -> BrokenBasicEntityHibernateFactory.faker.number().numberBetween(1L, 5L)),
-                new DefaultAttribute<>(BrokenBasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME, () -> BrokenBasicEntityHibernateFactory.faker.lorem().sentence())
+                new DefaultAttribute<>(BrokenBasicEntityHibernateFactory.INCORRECT_ATTRIBUTE_NAME, () -> BrokenBasicEntityHibernateFactory.faker.get().number().numberBetween(1L, 5L)),
+                new DefaultAttribute<>(BrokenBasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME, () -> BrokenBasicEntityHibernateFactory.faker.get().lorem().sentence())
         );
     }
 }
@@ -4,6 +4,7 @@ import com.philvigus.dbentityfactories.annotations.EntityFactory;
 import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
 import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
 import com.philvigus.dbentityfactories.factories.HibernateEntityFactory;
+import com.philvigus.dbentityfactories.relationships.RelationshipAttribute;
 import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -31,7 +32,7 @@ public class ChildEntityHibernateFactory extends HibernateEntityFactory<ChildEnt
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>(ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, dependentFactories[0]::persist)
+                new RelationshipAttribute<>(ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, dependentFactories[0])
         );
     }
 }
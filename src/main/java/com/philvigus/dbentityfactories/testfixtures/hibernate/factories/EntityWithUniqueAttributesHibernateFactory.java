@@ -17,7 +17,7 @@ import java.util.Map;
 public class EntityWithUniqueAttributesHibernateFactory extends HibernateEntityFactory<EntityWithUniqueAttributes> {
     public static final String UNIQUE_ATTRIBUTE_NAME = "uniqueString";
     public static final String NORMAL_ATTRIBUTE_NAME = "repeatableString";
-    private static final Faker faker = new Faker();
+    private static final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
 
 
     /**
@@ -32,7 +32,7 @@ public class EntityWithUniqueAttributesHibernateFactory extends HibernateEntityF
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>(EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME, () -> EntityWithUniqueAttributesHibernateFactory.faker.lorem().sentence(), true),
+                new DefaultAttribute<>(EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME, () -> EntityWithUniqueAttributesHibernateFactory.faker.get().lorem().sentence(), true),
                 new DefaultAttribute<>(EntityWithUniqueAttributesHibernateFactory.NORMAL_ATTRIBUTE_NAME, () -> "This will be the same in different entities of this type")
         );
     }
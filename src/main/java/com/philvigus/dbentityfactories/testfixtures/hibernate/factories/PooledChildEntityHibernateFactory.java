@@ -0,0 +1,40 @@
+package com.philvigus.dbentityfactories.testfixtures.hibernate.factories;
+
+import com.philvigus.dbentityfactories.annotations.EntityFactory;
+import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.factories.HibernateEntityFactory;
+import com.philvigus.dbentityfactories.relationships.EntityPool;
+import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Map;
+
+/**
+ * The Child entity factory used by tests for this library that shares a pool of parents between its children.
+ */
+@EntityFactory
+public class PooledChildEntityHibernateFactory extends HibernateEntityFactory<ChildEntity> {
+    public static final String PARENT_ATTRIBUTE_NAME = "parent";
+
+    public static final int PARENT_POOL_SIZE = 5;
+
+    /**
+     * Instantiates a new pooled Child entity factory.
+     *
+     * @param repository          the repository used to save instances of the entity
+     * @param parentEntityFactory the parent entity factory used to fill the pool of parents
+     */
+    @Autowired
+    public PooledChildEntityHibernateFactory(final JpaRepository<ChildEntity, Long> repository, final ParentEntityHibernateFactory parentEntityFactory) {
+        super(ChildEntity.class, repository, parentEntityFactory);
+    }
+
+    @Override
+    protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
+        return toAttributeMap(
+                new DefaultAttribute<>(PooledChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, EntityPool.roundRobin(dependentFactories[0], PooledChildEntityHibernateFactory.PARENT_POOL_SIZE))
+        );
+    }
+}
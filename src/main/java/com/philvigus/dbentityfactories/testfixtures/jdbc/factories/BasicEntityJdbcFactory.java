@@ -3,10 +3,11 @@ package com.philvigus.dbentityfactories.testfixtures.jdbc.factories;
 import com.philvigus.dbentityfactories.annotations.EntityFactory;
 import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
 import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.factories.JdbcEntityFactory;
 import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
-import com.philvigus.dbentityfactories.testfixtures.jdbc.repositories.BasicEntityJdbcRepository;
 import net.datafaker.Faker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.Map;
 
@@ -14,45 +15,27 @@ import java.util.Map;
  * The JDBC Basic entity factory used by tests for this library.
  */
 @EntityFactory
-public class BasicEntityJdbcFactory extends BaseEntityFactory<BasicEntity> {
+public class BasicEntityJdbcFactory extends JdbcEntityFactory<BasicEntity> {
     public static final String LONG_ATTRIBUTE_NAME = "myLongAttribute";
     public static final String STRING_ATTRIBUTE_NAME = "myStringAttribute";
 
-    private static final Faker faker = new Faker();
-    /**
-     * The repository used to save instances of the entity.
-     */
-    private final BasicEntityJdbcRepository basicEntityJdbcRepository;
+    private static final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
 
     /**
-     * Instantiates a new base entity factory.
+     * Instantiates a new JDBC Basic entity factory.
      *
-     * @param repository         the repository used to save instances of the entity
-     * @param dependentFactories any factories the creation of this entity depends on
+     * @param jdbcTemplate the JDBC template used to save instances of the entity
      */
     @Autowired
-    protected BasicEntityJdbcFactory(
-            BasicEntityJdbcRepository repository, BaseEntityFactory<?>... dependentFactories) {
-        super(BasicEntity.class, dependentFactories);
-
-        this.basicEntityJdbcRepository = repository;
+    public BasicEntityJdbcFactory(final JdbcTemplate jdbcTemplate) {
+        super(BasicEntity.class, jdbcTemplate);
     }
 
     @Override
     protected Map<String, DefaultAttribute<?>> getDefaultAttributes(final BaseEntityFactory<?>... dependentFactories) {
         return toAttributeMap(
-                new DefaultAttribute<>(BasicEntityJdbcFactory.LONG_ATTRIBUTE_NAME, () -> BasicEntityJdbcFactory.faker.number().numberBetween(1L, 5L)),
-                new DefaultAttribute<>(BasicEntityJdbcFactory.STRING_ATTRIBUTE_NAME, () -> BasicEntityJdbcFactory.faker.lorem().sentence())
+                new DefaultAttribute<>(BasicEntityJdbcFactory.LONG_ATTRIBUTE_NAME, () -> BasicEntityJdbcFactory.faker.get().number().numberBetween(1L, 5L)),
+                new DefaultAttribute<>(BasicEntityJdbcFactory.STRING_ATTRIBUTE_NAME, () -> BasicEntityJdbcFactory.faker.get().lorem().sentence())
         );
     }
-
-    /**
-     * Creates and saves an individual entity.
-     *
-     * @return the created and saved entity
-     */
-    @Override
-    public BasicEntity persist() {
-        return basicEntityJdbcRepository.save(getEntityWithAttributesSet(customAttributes));
-    }
 }
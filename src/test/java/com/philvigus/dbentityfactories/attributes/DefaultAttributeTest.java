@@ -1,14 +1,27 @@
 package com.philvigus.dbentityfactories.attributes;
 
+import com.philvigus.dbentityfactories.attributes.uniqueness.ExhaustionPolicy;
+import com.philvigus.dbentityfactories.attributes.uniqueness.UniqueGenerators;
 import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import net.datafaker.Faker;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultAttributeTest {
     final Integer defaultAttributeValue = 5;
@@ -41,4 +54,105 @@ class DefaultAttributeTest {
 
         Assertions.assertThrows(EntityFactoryException.class, defaultAttribute::getValue);
     }
+
+    @Test
+    void getValueUsesTheUniqueGeneratorWithoutRecordingUsedValues() {
+        final DefaultAttribute<Long> defaultAttribute = new DefaultAttribute<>("defaultLongAttribute", UniqueGenerators.sequence());
+
+        assertTrue(defaultAttribute.isUnique());
+        assertEquals(1L, defaultAttribute.getValue());
+        assertEquals(2L, defaultAttribute.getValue());
+        assertFalse(defaultAttribute.hasUsedValue(1L));
+
+        defaultAttribute.clearUsedValues();
+
+        assertEquals(1L, defaultAttribute.getValue());
+    }
+
+    @Test
+    void uniqueAttributesUseEveryAttemptByDefault() {
+        final AtomicInteger supplierCalls = new AtomicInteger();
+        final DefaultAttribute<Long> defaultAttribute = new DefaultAttribute<>("defaultLongAttribute", () -> {
+            supplierCalls.incrementAndGet();
+
+            return 1L;
+        }, true);
+
+        defaultAttribute.getValue();
+        supplierCalls.set(0);
+
+        final EntityFactoryException exception = assertThrows(EntityFactoryException.class, defaultAttribute::getValue);
+
+        assertEquals(DefaultAttribute.MAX_UNIQUE_ATTEMPTS, supplierCalls.get());
+        assertTrue(exception.getMessage().contains("after 100 attempts"));
+    }
+
+    @Test
+    void getValueFailsWellBeforeRunningOutOfAttemptsOnTheFirstExhaustedValue() {
+        final AtomicInteger supplierCalls = new AtomicInteger();
+        final Faker faker = new Faker(new Random(42));
+        final DefaultAttribute<Integer> defaultAttribute = new DefaultAttribute<>("defaultIntegerAttribute", () -> {
+            supplierCalls.incrementAndGet();
+
+            return faker.number().numberBetween(1, 5);
+        }, ExhaustionPolicy.failFast());
+
+        for (int i = 0; i < 4; i++) {
+            defaultAttribute.getValue();
+        }
+
+        supplierCalls.set(0);
+
+        final EntityFactoryException exception = assertThrows(EntityFactoryException.class, defaultAttribute::getValue);
+
+        assertTrue(exception.getMessage().contains("look exhausted"));
+        assertTrue(supplierCalls.get() < 30);
+        assertEquals(4, defaultAttribute.getCollisionStatistics().getUsedCount());
+
+        supplierCalls.set(0);
+
+        assertThrows(EntityFactoryException.class, defaultAttribute::getValue);
+        assertEquals(0, supplierCalls.get());
+    }
+
+    @Test
+    void valuesAreNotTreatedAsExhaustedWhileManyRemain() {
+        final SplittableRandom random = new SplittableRandom(42);
+        final DefaultAttribute<Long> defaultAttribute = new DefaultAttribute<>(
+                "defaultLongAttribute", () -> random.nextLong(0, 10_000), ExhaustionPolicy.failFast());
+
+        assertDoesNotThrow(() -> IntStream.range(0, 8_000).forEach(i -> defaultAttribute.getValue()));
+    }
+
+    @Test
+    void getValueSwitchesToTheFallbackOnceTheValuesLookExhausted() {
+        final AtomicInteger supplierCalls = new AtomicInteger();
+        final DefaultAttribute<String> defaultAttribute = new DefaultAttribute<>("defaultStringAttribute", () -> {
+            supplierCalls.incrementAndGet();
+
+            return "value";
+        }, ExhaustionPolicy.suffix());
+
+        final Set<String> values = IntStream.range(0, 100).mapToObj(i -> defaultAttribute.getValue()).collect(Collectors.toSet());
+
+        supplierCalls.set(0);
+        defaultAttribute.getValue();
+
+        assertEquals(100, values.size());
+        assertTrue(values.contains("value"));
+        assertEquals(1, supplierCalls.get());
+    }
+
+    @Test
+    void clearUsedValuesResetsTheCollisionStatistics() {
+        final DefaultAttribute<Integer> defaultAttribute = new DefaultAttribute<>("defaultIntegerAttribute", () -> 5, true);
+
+        defaultAttribute.getValue();
+        assertThrows(EntityFactoryException.class, defaultAttribute::getValue);
+
+        defaultAttribute.clearUsedValues();
+
+        assertEquals(0, defaultAttribute.getCollisionStatistics().getAttempts());
+        assertEquals(0, defaultAttribute.getCollisionStatistics().getCollisionRate());
+    }
 }
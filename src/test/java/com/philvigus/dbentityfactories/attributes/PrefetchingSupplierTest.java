@@ -0,0 +1,113 @@
+package com.philvigus.dbentityfactories.attributes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchingSupplierTest {
+    @Test
+    void valuesAreGeneratedAheadOfTimeUpToTheCapacity() throws InterruptedException {
+        final AtomicLong calls = new AtomicLong();
+
+        try (PrefetchingSupplier<Long> supplier = PrefetchingSupplier.of(calls::incrementAndGet, 5)) {
+            supplier.get();
+            waitUntil(() -> supplier.getBufferedCount() == 5);
+
+            // the background thread is blocked by the full buffer, so only a few more values have been generated
+            Thread.sleep(50);
+            assertTrue(calls.get() <= 7);
+
+            final Set<Long> values = new HashSet<>();
+
+            for (int i = 0; i < 5; i++) {
+                values.add(supplier.get());
+            }
+
+            assertEquals(5, values.size());
+            assertTrue(supplier.getPrefetchedCount() >= 5);
+        }
+    }
+
+    @Test
+    void valuesAreGeneratedInlineWhenNoneHaveBeenPrefetched() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicLong calls = new AtomicLong();
+
+        try (PrefetchingSupplier<Long> supplier = PrefetchingSupplier.of(() -> {
+            final long call = calls.incrementAndGet();
+
+            // block the background thread, which makes the first call
+            if (Thread.currentThread().getName().startsWith("db-entity-factories-prefetch")) {
+                awaitQuietly(release);
+            }
+
+            return call;
+        }, 10)) {
+            for (int i = 0; i < 3; i++) {
+                supplier.get();
+            }
+
+            assertEquals(3, supplier.getInlineCount());
+            assertEquals(0, supplier.getPrefetchedCount());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    void nullValuesArePrefetched() {
+        try (PrefetchingSupplier<String> supplier = PrefetchingSupplier.of(() -> null, 2)) {
+            supplier.get();
+            waitUntil(() -> supplier.getBufferedCount() == 2);
+
+            assertNull(supplier.get());
+            assertEquals(1, supplier.getPrefetchedCount());
+        }
+    }
+
+    @Test
+    void closedSuppliersGenerateValuesInline() {
+        final PrefetchingSupplier<String> supplier = PrefetchingSupplier.of(() -> "value", 2);
+
+        supplier.close();
+
+        assertEquals("value", supplier.get());
+        assertEquals(0, supplier.getBufferedCount());
+        assertEquals(1, supplier.getInlineCount());
+    }
+
+    @Test
+    void theCapacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> PrefetchingSupplier.of(() -> "value", 0));
+    }
+
+    private static void waitUntil(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for the condition");
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.philvigus.dbentityfactories.attributes;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+import com.philvigus.dbentityfactories.seeding.Seeds;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValueDictionaryTest {
+    @Test
+    void valuesAreGeneratedOnceAndSampledFromTheDictionary() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ValueDictionary<Integer> dictionary = ValueDictionary.uniform(calls::incrementAndGet, 10);
+
+        final Map<Integer, Long> counts = sample(dictionary, 10_000);
+
+        assertEquals(10, calls.get());
+        assertEquals(dictionary.getValues(), counts.keySet().stream().sorted().collect(Collectors.toList()));
+        assertTrue(counts.values().stream().allMatch(count -> count > 800 && count < 1_200));
+    }
+
+    @Test
+    void zipfDictionariesFavourTheFirstValues() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ValueDictionary<Integer> dictionary = ValueDictionary.zipf(calls::incrementAndGet, 100, 1.0);
+
+        final Map<Integer, Long> counts = sample(dictionary, 100_000);
+        final List<Integer> values = dictionary.getValues();
+
+        // the most common value is sampled with probability 1 / H(100), about 19%
+        assertTrue(counts.get(values.get(0)) > 17_000 && counts.get(values.get(0)) < 21_500);
+        assertTrue(counts.get(values.get(0)) > counts.get(values.get(1)));
+        assertTrue(counts.get(values.get(1)) > counts.getOrDefault(values.get(99), 0L));
+    }
+
+    @Test
+    void weightedDictionariesSampleValuesInProportionToTheirWeights() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ValueDictionary<Integer> dictionary = ValueDictionary.weighted(calls::incrementAndGet, 6, 3, 0, 1);
+
+        final Map<Integer, Long> counts = sample(dictionary, 100_000);
+
+        assertEquals(3, counts.size());
+        assertTrue(counts.get(1) > 58_500 && counts.get(1) < 61_500);
+        assertTrue(counts.get(2) > 28_500 && counts.get(2) < 31_500);
+        assertTrue(counts.get(4) > 9_000 && counts.get(4) < 11_000);
+    }
+
+    @Test
+    void dictionariesCanBeSharedBetweenAttributes() {
+        final ValueDictionary<Integer> dictionary = ValueDictionary.uniform(new AtomicInteger()::incrementAndGet, 5);
+        final DefaultAttribute<Integer> first = new DefaultAttribute<>("first", dictionary);
+        final DefaultAttribute<Integer> second = new DefaultAttribute<>("second", dictionary);
+
+        assertTrue(dictionary.getValues().contains(first.getValue()));
+        assertTrue(dictionary.getValues().contains(second.getValue()));
+        assertEquals(5, dictionary.getValues().size());
+    }
+
+    @Test
+    void seededEntitiesSampleTheSameValuesEveryTime() {
+        final ValueDictionary<Integer> dictionary = ValueDictionary.zipf(new AtomicInteger()::incrementAndGet, 100, 1.0);
+
+        assertEquals(sampleSeeded(dictionary, 42, "city", 50), sampleSeeded(dictionary, 42, "city", 50));
+        assertNotEquals(sampleSeeded(dictionary, 42, "city", 50), sampleSeeded(dictionary, 43, "city", 50));
+        assertNotEquals(sampleSeeded(dictionary, 42, "city", 50), sampleSeeded(dictionary, 42, "town", 50));
+    }
+
+    @Test
+    void seededSamplingKeepsTheDictionarysDistribution() {
+        final ValueDictionary<Integer> dictionary = ValueDictionary.uniform(new AtomicInteger()::incrementAndGet, 10);
+
+        final Map<Integer, Long> counts = sampleSeeded(dictionary, 42, "city", 10_000).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertEquals(10, counts.size());
+        assertTrue(counts.values().stream().allMatch(count -> count > 800 && count < 1_200));
+    }
+
+    @Test
+    void tooFewDistinctValuesThrowsAnException() {
+        final ValueDictionary<String> dictionary = ValueDictionary.uniform(() -> "same", 2);
+
+        assertThrows(EntityFactoryException.class, dictionary::get);
+    }
+
+    @Test
+    void invalidDictionariesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ValueDictionary.uniform(() -> "value", 0));
+        assertThrows(IllegalArgumentException.class, () -> ValueDictionary.zipf(() -> "value", 10, -1));
+        assertThrows(IllegalArgumentException.class, () -> ValueDictionary.weighted(() -> "value", 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> ValueDictionary.weighted(() -> "value", 0, 0));
+    }
+
+    private static <T> Map<T, Long> sample(final ValueDictionary<T> dictionary, final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> dictionary.get())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private static List<Integer> sampleSeeded(
+            final ValueDictionary<Integer> dictionary,
+            final long seed,
+            final String attributeName,
+            final int entities) {
+        return IntStream.range(0, entities)
+                .mapToObj(index -> SeedContext.withEntitySeed(Seeds.forEntity(seed, index), () -> {
+                    SeedContext.setAttributeName(attributeName);
+
+                    return dictionary.get();
+                }))
+                .collect(Collectors.toList());
+    }
+}
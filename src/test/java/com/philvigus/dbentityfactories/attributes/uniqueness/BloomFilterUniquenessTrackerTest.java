@@ -0,0 +1,94 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterUniquenessTrackerTest {
+    @ParameterizedTest
+    @EnumSource(BloomFilterUniquenessTracker.Confirmation.class)
+    void aClaimedValueIsNeverClaimedAgain(final BloomFilterUniquenessTracker.Confirmation confirmation) {
+        final UniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(10_000, 0.01, confirmation);
+
+        for (int i = 0; i < 10_000; i++) {
+            tracker.tryClaim("value " + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(tracker.isClaimed("value " + i));
+            assertFalse(tracker.tryClaim("value " + i));
+        }
+    }
+
+    @Test
+    void fingerprintConfirmationOnlyRejectsUsedValues() {
+        final UniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(
+                1_000, 0.1, BloomFilterUniquenessTracker.Confirmation.FINGERPRINT);
+
+        // far more values than expected, so the filter alone would report most of them as possibly used
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(tracker.tryClaim("value " + i));
+        }
+    }
+
+    @Test
+    void theFilterAloneRejectsFewUnusedValuesWithinTheExpectedCount() {
+        final UniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(
+                10_000, 0.01, BloomFilterUniquenessTracker.Confirmation.NONE);
+
+        final long claimed = IntStream.range(0, 10_000).filter(i -> tracker.tryClaim("value " + i)).count();
+
+        assertTrue(claimed > 9_900);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BloomFilterUniquenessTracker.Confirmation.class)
+    void eachValueIsOnlyClaimedOnceAcrossThreads(final BloomFilterUniquenessTracker.Confirmation confirmation) {
+        final UniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(100_000, 0.001, confirmation);
+
+        final long successfulClaims = IntStream.range(0, 8)
+                .parallel()
+                .flatMap(thread -> IntStream.range(0, 5_000))
+                .filter(value -> tracker.tryClaim("value " + value))
+                .count();
+
+        assertTrue(successfulClaims <= 5_000);
+        assertTrue(successfulClaims > 4_900);
+    }
+
+    @Test
+    void clearReleasesEveryClaimedValue() {
+        final UniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(100, 0.01);
+
+        tracker.tryClaim("value");
+        tracker.tryClaim(null);
+        tracker.clear();
+
+        assertFalse(tracker.isClaimed("value"));
+        assertFalse(tracker.isClaimed(null));
+        assertTrue(tracker.tryClaim("value"));
+    }
+
+    @Test
+    void theFilterIsSizedFromTheExpectedCountAndFalsePositiveProbability() {
+        final BloomFilterUniquenessTracker<String> tracker = new BloomFilterUniquenessTracker<>(1_000_000, 0.01);
+
+        // around 9.6 bits and 7 hash functions per value for a 1% false positive probability
+        assertEquals(9_585_088, tracker.getBitCount());
+        assertEquals(7, tracker.getHashFunctionCount());
+    }
+
+    @Test
+    void invalidSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilterUniquenessTracker<>(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilterUniquenessTracker<>(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilterUniquenessTracker<>(100, 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentUniquenessTrackerTest {
+    @Test
+    void tryClaimOnlySucceedsTheFirstTimeAValueIsClaimed() {
+        final UniquenessTracker<String> tracker = new ConcurrentUniquenessTracker<>();
+
+        assertTrue(tracker.tryClaim("value"));
+        assertFalse(tracker.tryClaim("value"));
+        assertTrue(tracker.isClaimed("value"));
+        assertFalse(tracker.isClaimed("other value"));
+    }
+
+    @Test
+    void nullCanBeClaimedOnce() {
+        final UniquenessTracker<String> tracker = new ConcurrentUniquenessTracker<>();
+
+        assertTrue(tracker.tryClaim(null));
+        assertFalse(tracker.tryClaim(null));
+        assertTrue(tracker.isClaimed(null));
+    }
+
+    @Test
+    void clearReleasesEveryClaimedValue() {
+        final UniquenessTracker<String> tracker = new ConcurrentUniquenessTracker<>();
+
+        tracker.tryClaim("value");
+        tracker.tryClaim(null);
+        tracker.clear();
+
+        assertFalse(tracker.isClaimed("value"));
+        assertFalse(tracker.isClaimed(null));
+        assertTrue(tracker.tryClaim("value"));
+    }
+
+    @Test
+    void eachValueIsOnlyClaimedOnceAcrossThreads() throws Exception {
+        final UniquenessTracker<Integer> tracker = new ConcurrentUniquenessTracker<>();
+        final AtomicInteger successfulClaims = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int value = 0; value < 10_000; value++) {
+                    if (tracker.tryClaim(value)) {
+                        successfulClaims.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(10_000, successfulClaims.get());
+    }
+}
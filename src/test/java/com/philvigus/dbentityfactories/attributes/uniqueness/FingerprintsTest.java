@@ -0,0 +1,54 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FingerprintsTest {
+    @Test
+    void uuidsSharingAHashCodeHaveDifferentFingerprints() {
+        final UUID first = new UUID(0x1234L, 0x5678L);
+        final UUID second = new UUID(0x1234L ^ 0xffL, 0x5678L ^ 0xffL);
+
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(Fingerprints.of(first), Fingerprints.of(second));
+    }
+
+    @Test
+    void randomUuidsDontShareFingerprints() {
+        final Set<Long> fingerprints = new HashSet<>();
+
+        // far more than the ~77,000 values at which 32-bit hash codes are likely to collide
+        for (int i = 0; i < 500_000; i++) {
+            fingerprints.add(Fingerprints.of(UUID.randomUUID()));
+        }
+
+        assertEquals(500_000, fingerprints.size());
+    }
+
+    @Test
+    void equalValuesHaveEqualFingerprints() {
+        assertEquals(
+                Fingerprints.of(new BigInteger("123456789012345678901234567890")),
+                Fingerprints.of(new BigInteger("123456789012345678901234567890")));
+        assertEquals(
+                Fingerprints.of(LocalDateTime.of(2020, 1, 2, 3, 4, 5)),
+                Fingerprints.of(LocalDateTime.of(2020, 1, 2, 3, 4, 5)));
+        assertNotEquals(Fingerprints.of(new BigDecimal("1.0")), Fingerprints.of(new BigDecimal("1.00")));
+    }
+
+    @Test
+    void valuesThatCantBeFingerprintedAreRejected() {
+        assertThrows(EntityFactoryException.class, () -> Fingerprints.of(new Object()));
+    }
+}
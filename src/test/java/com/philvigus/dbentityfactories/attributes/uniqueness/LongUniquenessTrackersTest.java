@@ -0,0 +1,107 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongUniquenessTrackersTest {
+    static Stream<Arguments> trackers() {
+        return Stream.of(
+                Arguments.of((Supplier<UniquenessTracker<Long>>) LongHashUniquenessTracker::new),
+                Arguments.of((Supplier<UniquenessTracker<Long>>) LongBitmapUniquenessTracker::new)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("trackers")
+    void tryClaimOnlySucceedsTheFirstTimeAValueIsClaimed(final Supplier<UniquenessTracker<Long>> trackerSupplier) {
+        final UniquenessTracker<Long> tracker = trackerSupplier.get();
+
+        for (final long value : new long[]{0L, 1L, -1L, 63L, 64L, 65_536L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertFalse(tracker.isClaimed(value));
+            assertTrue(tracker.tryClaim(value));
+            assertFalse(tracker.tryClaim(value));
+            assertTrue(tracker.isClaimed(value));
+        }
+
+        assertTrue(tracker.tryClaim(null));
+        assertFalse(tracker.tryClaim(null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("trackers")
+    void clearReleasesEveryClaimedValue(final Supplier<UniquenessTracker<Long>> trackerSupplier) {
+        final UniquenessTracker<Long> tracker = trackerSupplier.get();
+
+        tracker.tryClaim(0L);
+        tracker.tryClaim(42L);
+        tracker.clear();
+
+        assertFalse(tracker.isClaimed(0L));
+        assertFalse(tracker.isClaimed(42L));
+        assertTrue(tracker.tryClaim(42L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("trackers")
+    void tracksTheSameValuesAsAHashSet(final Supplier<UniquenessTracker<Long>> trackerSupplier) {
+        final UniquenessTracker<Long> tracker = trackerSupplier.get();
+        final Set<Long> expected = new HashSet<>();
+        final SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            final long value = random.nextLong(-50_000, 50_000);
+
+            assertEquals(expected.add(value), tracker.tryClaim(value));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("trackers")
+    void eachValueIsOnlyClaimedOnceAcrossThreads(final Supplier<UniquenessTracker<Long>> trackerSupplier) {
+        final UniquenessTracker<Long> tracker = trackerSupplier.get();
+
+        final long successfulClaims = IntStream.range(0, 8)
+                .parallel()
+                .flatMap(thread -> IntStream.range(0, 20_000))
+                .filter(value -> tracker.tryClaim((long) value))
+                .count();
+
+        assertEquals(20_000, successfulClaims);
+    }
+
+    @Test
+    void integerValuesCanBeTracked() {
+        final UniquenessTracker<Integer> hashTracker = new LongHashUniquenessTracker<>();
+        final UniquenessTracker<Integer> bitmapTracker = new LongBitmapUniquenessTracker<>();
+
+        assertTrue(hashTracker.tryClaim(7));
+        assertFalse(hashTracker.tryClaim(7));
+        assertTrue(bitmapTracker.tryClaim(7));
+        assertFalse(bitmapTracker.tryClaim(7));
+    }
+
+    @Test
+    void theHashTrackerCountsTheClaimedValues() {
+        final LongHashUniquenessTracker<Long> tracker = new LongHashUniquenessTracker<>();
+
+        LongStream.range(0, 10_000).forEach(tracker::tryClaim);
+        tracker.tryClaim(0L);
+        tracker.tryClaim(null);
+
+        assertEquals(10_001, tracker.size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedUniquenessTrackerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void aClaimedValueIsNeverClaimedAgain() {
+        try (MappedUniquenessTracker<String> tracker = new MappedUniquenessTracker<>(directory.resolve("emails"), 50_000)) {
+            for (int i = 0; i < 50_000; i++) {
+                assertTrue(tracker.tryClaim("user" + i + "@example.com"));
+            }
+
+            for (int i = 0; i < 50_000; i++) {
+                assertTrue(tracker.isClaimed("user" + i + "@example.com"));
+                assertFalse(tracker.tryClaim("user" + i + "@example.com"));
+            }
+
+            assertFalse(tracker.isClaimed("someone.else@example.com"));
+            assertEquals(50_000, tracker.size());
+        }
+    }
+
+    @Test
+    void eachValueIsOnlyClaimedOnceAcrossThreads() {
+        try (MappedUniquenessTracker<Integer> tracker = new MappedUniquenessTracker<>(directory.resolve("ids"), 10_000)) {
+            final long successfulClaims = IntStream.range(0, 8)
+                    .parallel()
+                    .flatMap(thread -> IntStream.range(0, 10_000))
+                    .filter(tracker::tryClaim)
+                    .count();
+
+            assertEquals(10_000, successfulClaims);
+        }
+    }
+
+    @Test
+    void claimedValuesCanBeReusedByALaterTracker() {
+        final Path file = directory.resolve("reused");
+
+        try (MappedUniquenessTracker<String> tracker = new MappedUniquenessTracker<>(file, 1_000)) {
+            tracker.tryClaim("first run");
+        }
+
+        try (MappedUniquenessTracker<String> tracker = new MappedUniquenessTracker<>(file, 1_000, true)) {
+            assertTrue(tracker.isClaimed("first run"));
+            assertTrue(tracker.tryClaim("second run"));
+        }
+
+        try (MappedUniquenessTracker<String> tracker = new MappedUniquenessTracker<>(file, 1_000)) {
+            assertFalse(tracker.isClaimed("first run"));
+        }
+    }
+
+    @Test
+    void aFileWithADifferentExpectedCountCannotBeReused() {
+        final Path file = directory.resolve("resized");
+
+        new MappedUniquenessTracker<String>(file, 1_000).close();
+
+        assertThrows(EntityFactoryException.class, () -> new MappedUniquenessTracker<String>(file, 1_000_000, true));
+    }
+
+    @Test
+    void clearReleasesEveryClaimedValue() {
+        try (MappedUniquenessTracker<String> tracker = new MappedUniquenessTracker<>(directory.resolve("cleared"), 100)) {
+            tracker.tryClaim("value");
+            tracker.clear();
+
+            assertFalse(tracker.isClaimed("value"));
+            assertEquals(0, tracker.size());
+            assertTrue(tracker.tryClaim("value"));
+        }
+    }
+
+    @Test
+    void claimingMoreValuesThanTheStoreCanHoldThrowsAnException() {
+        try (MappedUniquenessTracker<Integer> tracker = new MappedUniquenessTracker<>(directory.resolve("full"), 1)) {
+            assertThrows(EntityFactoryException.class, () -> IntStream.range(0, 10_000).forEach(tracker::tryClaim));
+        }
+    }
+}
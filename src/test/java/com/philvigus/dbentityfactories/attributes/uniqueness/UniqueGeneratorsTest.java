@@ -0,0 +1,104 @@
+package com.philvigus.dbentityfactories.attributes.uniqueness;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueGeneratorsTest {
+    @Test
+    void sequenceGeneratesConsecutiveNumbersUntilReset() {
+        final UniqueGenerator<Long> sequence = UniqueGenerators.sequence(10);
+
+        assertEquals(10L, sequence.next());
+        assertEquals(11L, sequence.next());
+
+        sequence.reset();
+
+        assertEquals(10L, sequence.next());
+    }
+
+    @Test
+    void templateReplacesEveryPlaceholderWithASequenceNumber() {
+        final UniqueGenerator<String> template = UniqueGenerators.template("user-{n}@example.com/{n}");
+
+        assertEquals("user-1@example.com/1", template.next());
+        assertEquals("user-2@example.com/2", template.next());
+    }
+
+    @Test
+    void templateMustContainThePlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> UniqueGenerators.template("user@example.com"));
+    }
+
+    @Test
+    void suffixedMakesRepeatedValuesUnique() {
+        final UniqueGenerator<String> suffixed = UniqueGenerators.suffixed(() -> "Jane Doe");
+
+        assertEquals("Jane Doe-1", suffixed.next());
+        assertEquals("Jane Doe-2", suffixed.next());
+        assertThrows(IllegalArgumentException.class, () -> UniqueGenerators.suffixed(() -> "Jane Doe", "0"));
+    }
+
+    @Test
+    void shuffledRangeGeneratesEveryNumberInTheRangeOnceThenThrowsAnException() {
+        final UniqueGenerator<Long> shuffled = UniqueGenerators.shuffledRange(-500, 1_500);
+
+        final List<Long> values = LongStream.rangeClosed(-500, 1_500).mapToObj(i -> shuffled.next()).collect(Collectors.toList());
+
+        assertEquals(LongStream.rangeClosed(-500, 1_500).boxed().collect(Collectors.toSet()), new HashSet<>(values));
+        assertNotEquals(LongStream.rangeClosed(-500, 1_500).boxed().collect(Collectors.toList()), values);
+        assertThrows(EntityFactoryException.class, shuffled::next);
+    }
+
+    @Test
+    void shuffledRangeIsTheSameForTheSameSeed() {
+        final UniqueGenerator<Long> first = UniqueGenerators.shuffledRange(1, 1_000_000, 42);
+        final UniqueGenerator<Long> second = UniqueGenerators.shuffledRange(1, 1_000_000, 42);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.next(), second.next());
+        }
+    }
+
+    @Test
+    void shuffledRangeCanCoverEveryPositiveLong() {
+        final UniqueGenerator<Long> shuffled = UniqueGenerators.shuffledRange(1, Long.MAX_VALUE, 42);
+        final Set<Long> values = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            final long value = shuffled.next();
+
+            assertTrue(value > 0);
+            assertTrue(values.add(value));
+        }
+    }
+
+    @Test
+    void shuffledRangeMustContainBetweenOneAndLongMaxValueNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> UniqueGenerators.shuffledRange(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> UniqueGenerators.shuffledRange(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void generatorsAreUniqueAcrossThreads() {
+        final UniqueGenerator<String> template = UniqueGenerators.template("user-{n}");
+
+        final Set<String> values = IntStream.range(0, 100_000)
+                .parallel()
+                .mapToObj(i -> template.next())
+                .collect(Collectors.toSet());
+
+        assertEquals(100_000, values.size());
+    }
+}
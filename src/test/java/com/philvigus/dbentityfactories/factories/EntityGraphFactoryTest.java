@@ -0,0 +1,185 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.metrics.MicrometerFactoryMetrics;
+import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
+import com.philvigus.dbentityfactories.testfixtures.entities.ParentEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.ChildEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.ParentEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ChildEntityHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ParentEntityHibernateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class EntityGraphFactoryTest {
+    @Autowired
+    ParentEntityHibernateFactory parentEntityFactory;
+
+    @Autowired
+    ChildEntityHibernateFactory childEntityFactory;
+
+    @Autowired
+    ParentEntityHibernateRepository parentEntityRepository;
+
+    @Autowired
+    ChildEntityHibernateRepository childEntityRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void createLinksEachParentToItsChildrenWithoutPersistingAnything() {
+        final ParentEntity parent = parentEntityFactory
+                .has(childEntityFactory, 3, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild)
+                .create();
+
+        assertEquals(3, parent.getChildren().size());
+        assertTrue(parent.getChildren().stream().allMatch(child -> child.getParent() == parent));
+        assertNull(parent.getId());
+        assertEquals(0, parentEntityRepository.count());
+        assertEquals(0, childEntityRepository.count());
+    }
+
+    @Test
+    void persistSavesEveryParentWithItsChildrenInBatches() {
+        final EntityGraphFactory<ParentEntity, ChildEntity> graphFactory = parentEntityFactory
+                .has(childEntityFactory, 4, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild);
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        graphFactory.setBatchSize(7);
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        final List<ParentEntity> parents = graphFactory.persist(25);
+
+        // every entity also takes a statement to read its id from the sequence
+        final long insertStatementCount = statistics.getPrepareStatementCount() - statistics.getEntityInsertCount();
+
+        final Map<Long, Long> childrenPerParent = childEntityRepository.findAll().stream()
+                .collect(Collectors.groupingBy(child -> child.getParent().getId(), Collectors.counting()));
+
+        assertEquals(25, parents.size());
+        assertEquals(25, parentEntityRepository.count());
+        assertEquals(100, childEntityRepository.count());
+        assertEquals(25, childrenPerParent.size());
+        assertTrue(childrenPerParent.values().stream().allMatch(count -> count == 4));
+        assertTrue(parents.stream().allMatch(parent -> childrenPerParent.containsKey(parent.getId())));
+        assertEquals(125, statistics.getEntityInsertCount());
+        assertTrue(insertStatementCount < 25);
+    }
+
+    @Test
+    void persistOnlyDetachesTheEntitiesItWrote() {
+        final EntityGraphFactory<ParentEntity, ChildEntity> graphFactory = parentEntityFactory
+                .has(childEntityFactory, 2, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild);
+
+        graphFactory.setBatchSize(2);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            final ParentEntity managedParent = new ParentEntity();
+
+            entityManager.persist(managedParent);
+
+            final List<ParentEntity> parents = graphFactory.persist(5);
+
+            assertTrue(entityManager.contains(managedParent));
+            assertTrue(parents.stream().noneMatch(entityManager::contains));
+        });
+
+        assertEquals(6, parentEntityRepository.count());
+        assertEquals(10, childEntityRepository.count());
+    }
+
+    @Test
+    void persistRecordsEachBatchInBothFactoriesMetrics() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final EntityGraphFactory<ParentEntity, ChildEntity> graphFactory = parentEntityFactory
+                .has(childEntityFactory, 3, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild);
+
+        parentEntityFactory.setMetrics(new MicrometerFactoryMetrics(registry, ParentEntity.class));
+        childEntityFactory.setMetrics(new MicrometerFactoryMetrics(registry, ChildEntity.class));
+        graphFactory.setBatchSize(4);
+
+        graphFactory.persist(10);
+
+        assertEquals(10, getPersistedCount(registry, ParentEntity.class));
+        assertEquals(30, getPersistedCount(registry, ChildEntity.class));
+        assertEquals(3, registry.get(MicrometerFactoryMetrics.BATCH_SIZE)
+                .tag(MicrometerFactoryMetrics.ENTITY_TAG, ParentEntity.class.getName())
+                .summary()
+                .count());
+    }
+
+    @Test
+    void persistSavesParentsWithoutChildren() {
+        final List<ParentEntity> parents = parentEntityFactory
+                .has(childEntityFactory, 0, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild)
+                .persist(5);
+
+        assertEquals(5, parents.size());
+        assertFalse(parents.stream().anyMatch(parent -> parent.getId() == null));
+        assertEquals(5, parentEntityRepository.count());
+        assertEquals(0, childEntityRepository.count());
+    }
+
+    @Test
+    void theChildFactoryStillSetsTheInverseAttributeOutsideOfGraphs() {
+        parentEntityFactory
+                .has(childEntityFactory, 2, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild)
+                .create();
+
+        final ChildEntity child = childEntityFactory.persist();
+
+        assertEquals(1, parentEntityRepository.count());
+        assertNotNull(child.getParent().getId());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        final EntityGraphFactory<ParentEntity, ChildEntity> graphFactory = parentEntityFactory
+                .has(childEntityFactory, 1, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild);
+
+        assertThrows(IllegalArgumentException.class, () -> parentEntityFactory
+                .has(childEntityFactory, -1, ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME, ParentEntity::addChild));
+        assertThrows(IllegalArgumentException.class, () -> graphFactory.persist(0));
+        assertThrows(IllegalArgumentException.class, () -> graphFactory.setBatchSize(0));
+    }
+
+    private static double getPersistedCount(final MeterRegistry registry, final Class<?> entityClass) {
+        return registry.get(MicrometerFactoryMetrics.PERSISTED)
+                .tag(MicrometerFactoryMetrics.ENTITY_TAG, entityClass.getName())
+                .counter()
+                .count();
+    }
+}
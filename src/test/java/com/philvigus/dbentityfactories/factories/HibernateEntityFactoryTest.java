@@ -2,6 +2,7 @@ package com.philvigus.dbentityfactories.factories;
 
 import com.philvigus.dbentityfactories.attributes.CustomAttribute;
 import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.metrics.FactoryMetrics;
 import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
 import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
 import com.philvigus.dbentityfactories.testfixtures.entities.EntityWithUniqueAttributes;
@@ -16,10 +17,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +50,9 @@ class HibernateEntityFactoryTest {
     @Autowired
     ChildEntityHibernateFactory childEntityFactory;
 
+    @Autowired
+    ParentEntityHibernateFactory parentEntityFactory;
+
     @Autowired
     BasicEntityHibernateRepository basicEntityRepository;
 
@@ -50,9 +67,18 @@ class HibernateEntityFactoryTest {
     @Autowired
     EntityForClearingValuesTestHibernateFactory entityForClearingValuesTestFactory;
 
+    @Autowired
+    EntityForClearingCompactValuesTestHibernateFactory entityForClearingCompactValuesTestFactory;
+
     @Autowired
     private ParentEntityHibernateRepository parentEntityRepository;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     void makeCanReturnASingleBasicEntityWithItsAttributesCorrectlySet() {
         final BasicEntity basicEntity = basicEntityHibernateFactory.create();
@@ -110,6 +136,195 @@ class HibernateEntityFactoryTest {
         assertEquals(customStringValue, basicEntities.get(1).getMyStringAttribute());
     }
 
+    @Test
+    void customAttributesSpecifiedAfterEntitiesHaveBeenMadeAreUsedForLaterEntities() {
+        final Long customLongValue = 999L;
+
+        basicEntityHibernateFactory.create();
+
+        final BasicEntity basicEntity = basicEntityHibernateFactory.withCustomAttributes(
+                new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> customLongValue)
+        ).create();
+
+        assertEquals(customLongValue, basicEntity.getMyLongAttribute());
+        assertNotNull(basicEntity.getMyStringAttribute());
+    }
+
+    @Test
+    void customAttributesDoNotChangeTheFactoryTheyAreSpecifiedOn() {
+        final BaseEntityFactory<BasicEntity> view = basicEntityHibernateFactory.withCustomAttributes(
+                new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> 999L));
+
+        assertNotSame(basicEntityHibernateFactory, view);
+        assertEquals(999L, view.create().getMyLongAttribute());
+        assertTrue(basicEntityHibernateFactory.create().getMyLongAttribute() < 100);
+    }
+
+    @Test
+    void customAttributesAddToThoseOfTheFactoryTheyAreSpecifiedOn() {
+        final BaseEntityFactory<BasicEntity> longView = basicEntityHibernateFactory.withCustomAttributes(
+                new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> 999L));
+        final BaseEntityFactory<BasicEntity> longAndStringView = longView.withCustomAttributes(
+                new CustomAttribute<>(BasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME, () -> "a custom string value"));
+
+        final BasicEntity longEntity = longView.create();
+        final BasicEntity longAndStringEntity = longAndStringView.create();
+
+        assertEquals(999L, longEntity.getMyLongAttribute());
+        assertNotEquals("a custom string value", longEntity.getMyStringAttribute());
+        assertEquals(999L, longAndStringEntity.getMyLongAttribute());
+        assertEquals("a custom string value", longAndStringEntity.getMyStringAttribute());
+    }
+
+    @Test
+    void viewsWithCustomAttributesPersistInATransaction() {
+        final List<BasicEntity> basicEntities = basicEntityHibernateFactory.withCustomAttributes(
+                new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> 999L)
+        ).persist(30);
+
+        assertEquals(30, basicEntityRepository.count());
+        assertTrue(basicEntities.stream().allMatch(basicEntity -> basicEntity.getId() != null));
+        assertTrue(basicEntityRepository.findAll().stream().allMatch(basicEntity -> basicEntity.getMyLongAttribute() == 999L));
+    }
+
+    @Test
+    void viewsWithDifferentCustomAttributesCanBeUsedFromManyThreadsAtOnce() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+
+            for (long value = 0; value < threads; value++) {
+                final long customLongValue = value;
+
+                results.add(executor.submit(() -> basicEntityHibernateFactory.withCustomAttributes(
+                                new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> customLongValue)
+                        ).create(1_000).stream()
+                        .allMatch(basicEntity -> basicEntity.getMyLongAttribute() == customLongValue)));
+            }
+
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void viewsWithCustomAttributesCantBeReconfigured() {
+        final HibernateEntityFactory<BasicEntity> view = (HibernateEntityFactory<BasicEntity>) basicEntityHibernateFactory
+                .withCustomAttributes(new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, () -> 999L));
+
+        assertThrows(IllegalStateException.class, () -> view.setSeed(42));
+        assertThrows(IllegalStateException.class, view::clearSeed);
+        assertThrows(IllegalStateException.class, () -> view.setBatchSize(10));
+        assertThrows(IllegalStateException.class, () -> view.setMetrics(FactoryMetrics.NOOP));
+        assertThrows(IllegalStateException.class, () -> view.setAttributeProfiler(null));
+        assertThrows(IllegalStateException.class, () -> view.setForkJoinPool(ForkJoinPool.commonPool()));
+
+        basicEntityHibernateFactory.setSeed(42);
+
+        assertEquals(42, basicEntityHibernateFactory.getSeed().getAsLong());
+        assertTrue(view.getSeed().isEmpty());
+    }
+
+    @Test
+    void viewsWithCustomAttributesShareTheUniquenessOfTheFactoryTheyAreSpecifiedOn() {
+        final AtomicLong calls = new AtomicLong();
+        final BaseEntityFactory<EntityWithUniqueAttributes> view = entityWithUniqueAttributesFactory.withCustomAttributes(
+                new CustomAttribute<>(
+                        EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME,
+                        () -> "value " + calls.getAndIncrement() % 10));
+
+        view.create(5);
+
+        final List<EntityWithUniqueAttributes> entities = entityWithUniqueAttributesFactory.withCustomAttributes(
+                new CustomAttribute<>(
+                        EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME,
+                        () -> "value " + calls.getAndIncrement() % 10)
+        ).create(5);
+
+        assertEquals(5, entities.stream().map(EntityWithUniqueAttributes::getUniqueString).distinct().count());
+        assertTrue(entities.stream().noneMatch(entity -> List.of("value 0", "value 1", "value 2", "value 3", "value 4")
+                .contains(entity.getUniqueString())));
+    }
+
+    @Test
+    void streamCreatesEntitiesLazily() {
+        final AtomicLong entitiesCreated = new AtomicLong();
+
+        final Stream<BasicEntity> basicEntities = basicEntityHibernateFactory
+                .withCustomAttributes(new CustomAttribute<>(BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME, entitiesCreated::incrementAndGet))
+                .stream();
+
+        assertEquals(0, entitiesCreated.get());
+
+        final List<BasicEntity> firstEntities = basicEntities
+                .takeWhile(basicEntity -> basicEntity.getMyLongAttribute() < 3)
+                .collect(Collectors.toList());
+
+        assertEquals(2, firstEntities.size());
+        assertEquals(3, entitiesCreated.get());
+        firstEntities.forEach(this::assertBasicEntityCorrectlyMadeWithDefaultAttributes);
+    }
+
+    @Test
+    void streamCanReturnASpecifiedNumberOfEntities() {
+        final int numberOfEntities = 3;
+
+        final List<BasicEntity> basicEntities = basicEntityHibernateFactory.stream(numberOfEntities).collect(Collectors.toList());
+
+        assertEquals(numberOfEntities, basicEntities.size());
+        basicEntities.forEach(this::assertBasicEntityCorrectlyMadeWithDefaultAttributes);
+    }
+
+    @Test
+    void iteratorCreatesASpecifiedNumberOfEntities() {
+        final Iterator<BasicEntity> basicEntities = basicEntityHibernateFactory.iterator(2);
+
+        assertBasicEntityCorrectlyMadeWithDefaultAttributes(basicEntities.next());
+        assertBasicEntityCorrectlyMadeWithDefaultAttributes(basicEntities.next());
+        assertFalse(basicEntities.hasNext());
+        assertThrows(NoSuchElementException.class, basicEntities::next);
+    }
+
+    @Test
+    void streamAndIteratorThrowAnExceptionIfCopiesIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.stream(0));
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.iterator(0));
+    }
+
+    @Test
+    void createParallelCreatesEntitiesWithTheirAttributesCorrectlySet() {
+        final int numberOfEntities = 500;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final List<BasicEntity> basicEntities = basicEntityHibernateFactory.createParallel(numberOfEntities, pool);
+
+            assertEquals(numberOfEntities, basicEntities.size());
+            basicEntities.forEach(this::assertBasicEntityCorrectlyMadeWithDefaultAttributes);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void createParallelKeepsUniqueAttributesUnique() {
+        final int numberOfEntities = 500;
+
+        final List<EntityWithUniqueAttributes> entities = entityWithUniqueAttributesFactory.createParallel(numberOfEntities);
+
+        assertEquals(numberOfEntities, entities.stream().map(EntityWithUniqueAttributes::getUniqueString).distinct().count());
+    }
+
+    @Test
+    void createParallelThrowsAnExceptionIfCopiesIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.createParallel(0));
+    }
+
     @Test
     void makeThrowsAnExceptionIfCopiesIsLessThanOne() {
         assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.create(0));
@@ -194,6 +409,104 @@ class HibernateEntityFactoryTest {
         assertTrue(savedEntities.contains(basicEntities.get(1)));
     }
 
+    @Test
+    void persistSavesAllEntitiesWhenThereAreMoreEntitiesThanTheBatchSize() {
+        final int numberOfEntities = 5;
+
+        final List<BasicEntity> basicEntities = basicEntityHibernateFactory.persist(numberOfEntities, 2);
+        final List<BasicEntity> savedEntities = basicEntityRepository.findAll();
+
+        assertEquals(numberOfEntities, basicEntities.size());
+        assertEquals(numberOfEntities, savedEntities.size());
+        basicEntities.forEach(basicEntity -> {
+            assertBasicEntityCorrectlyCreatedWithDefaultAttributes(basicEntity);
+            assertTrue(savedEntities.contains(basicEntity));
+        });
+    }
+
+    @Test
+    void persistReturnsEntitiesManagedByTheCurrentTransaction() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> basicEntityHibernateFactory.persist(3)
+                .forEach(basicEntity -> assertTrue(entityManager.contains(basicEntity))));
+    }
+
+    @Test
+    void persistInBatchesOnlyDetachesTheEntitiesItWrote() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final BasicEntity managedEntity = basicEntityHibernateFactory.persist();
+            final List<BasicEntity> batchedEntities = basicEntityHibernateFactory.persist(5, 2);
+
+            assertTrue(entityManager.contains(managedEntity));
+            batchedEntities.forEach(basicEntity -> assertFalse(entityManager.contains(basicEntity)));
+        });
+    }
+
+    @Test
+    void persistInBatchesSavesEntitiesWithCustomIds() {
+        final AtomicLong ids = new AtomicLong(1_000);
+
+        final HibernateEntityFactory<BasicEntity> withCustomIds = (HibernateEntityFactory<BasicEntity>)
+                basicEntityHibernateFactory.withCustomAttributes(new CustomAttribute<>("id", ids::incrementAndGet));
+
+        final List<BasicEntity> basicEntities = withCustomIds.persist(3, 2);
+
+        assertEquals(3, basicEntities.size());
+        assertEquals(3, basicEntityRepository.count());
+    }
+
+    @Test
+    void persistInBatchesSavesDependentEntities() {
+        final int numberOfEntities = 3;
+
+        childEntityFactory.persist(numberOfEntities, 2);
+
+        assertEquals(numberOfEntities, childEntityRepository.count());
+        assertEquals(numberOfEntities, parentEntityRepository.count());
+    }
+
+    @Test
+    void persistThrowsAnExceptionIfTheBatchSizeIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.persist(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.setBatchSize(0));
+    }
+
+    @Test
+    void persistCountSavesEntitiesAndReturnsASummary() {
+        final int numberOfEntities = 5;
+
+        final PersistSummary summary = basicEntityHibernateFactory.persistCount(numberOfEntities);
+
+        assertEquals(numberOfEntities, summary.getRowsWritten());
+        assertEquals(numberOfEntities, basicEntityRepository.count());
+        assertNotNull(summary.getElapsed());
+        assertFalse(summary.hasIdRange());
+        assertFalse(summary.hasIds());
+    }
+
+    @Test
+    void persistCountCanRecordTheIdsOfTheSavedEntities() {
+        final int numberOfEntities = 5;
+
+        final PersistSummary summary = basicEntityHibernateFactory.persistCount(numberOfEntities, PersistSummary.IdCollection.ALL);
+        final List<BasicEntity> savedEntities = basicEntityRepository.findAll();
+
+        assertEquals(numberOfEntities, summary.getIds().length);
+        savedEntities.forEach(savedEntity -> {
+            assertTrue(Arrays.stream(summary.getIds()).anyMatch(id -> id == savedEntity.getId()));
+            assertTrue(savedEntity.getId() >= summary.getMinId());
+            assertTrue(savedEntity.getId() <= summary.getMaxId());
+        });
+    }
+
+    @Test
+    void persistCountThrowsAnExceptionIfCopiesIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.persistCount(0));
+    }
+
     @Test
     void createThrowsAnExceptionIfCopiesIsLessThanOne() {
         assertThrows(IllegalArgumentException.class, () -> basicEntityHibernateFactory.persist(0));
@@ -249,6 +562,37 @@ class HibernateEntityFactoryTest {
         assertEquals(savedParentEntities.get(0).getId(), childEntity.getParent().getId());
     }
 
+    @Test
+    void creatingChildEntitiesCreatesTheirParentsWithoutPersistingAnything() {
+        final List<ChildEntity> childEntities = childEntityFactory.create(3);
+
+        assertTrue(childEntities.stream().allMatch(child -> child.getParent() != null));
+        assertTrue(childEntities.stream().allMatch(child -> child.getParent().getId() == null));
+        assertEquals(0, parentEntityRepository.count());
+        assertEquals(0, childEntityRepository.count());
+    }
+
+    @Test
+    void persistingChildEntitiesAfterCreatingThemStillPersistsTheirParents() {
+        childEntityFactory.create();
+        childEntityFactory.persist(2);
+
+        assertEquals(2, parentEntityRepository.count());
+        assertEquals(2, childEntityRepository.count());
+    }
+
+    @Test
+    void persistingEntitiesWhileCreatingAnotherStillPersistsTheirParents() {
+        final ParentEntity parentEntity = parentEntityFactory.withCustomAttributes(
+                new CustomAttribute<>("children", () -> new ArrayList<>(List.of(childEntityFactory.persist())))
+        ).create();
+
+        assertNull(parentEntity.getId());
+        assertNotNull(parentEntity.getChildren().get(0).getParent().getId());
+        assertEquals(1, parentEntityRepository.count());
+        assertEquals(1, childEntityRepository.count());
+    }
+
     @Test
     void specifyingADefaultAttributeWithANameThatDoesntExistOnAnEntityThrowsAnException() {
         final String incorrectAttributeName = "I do not exist";
@@ -289,6 +633,35 @@ class HibernateEntityFactoryTest {
 
     }
 
+    @Test
+    void youCanResetTheUsedValuesOnAllAttributesWithCompactTrackers() {
+        entityForClearingCompactValuesTestFactory.create();
+
+        entityForClearingCompactValuesTestFactory.clearAllUsedAttributeValues();
+
+        assertDoesNotThrow(() -> entityForClearingCompactValuesTestFactory.create());
+    }
+
+    @Test
+    void youCanResetTheUsedValuesOnSpecificAttributeWithCompactTrackers() {
+        entityForClearingCompactValuesTestFactory.create();
+
+        entityForClearingCompactValuesTestFactory.clearUsedValuesForAttribute(EntityForClearingCompactValuesTestHibernateFactory.UNIQUE_LONG);
+
+        assertDoesNotThrow(() -> entityForClearingCompactValuesTestFactory
+                .withCustomAttributes(new CustomAttribute<>(
+                        EntityForClearingCompactValuesTestHibernateFactory.UNIQUE_STRING,
+                        () -> "a different value"))
+                .create());
+
+        assertThrows(EntityFactoryException.class, () -> entityForClearingCompactValuesTestFactory.create());
+    }
+
+    @Test
+    void factoriesRecordNoMetricsWithoutAMeterRegistry() {
+        assertSame(FactoryMetrics.NOOP, basicEntityHibernateFactory.getMetrics());
+    }
+
     void assertBasicEntityCorrectlyMadeWithDefaultAttributes(final BasicEntity basicEntity) {
         assertNull(basicEntity.getId());
         assertNotNull(basicEntity.getMyLongAttribute());
@@ -0,0 +1,92 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JdbcEntityFactoryTest {
+    @Test
+    void writingABatchThrowsAnExceptionIfTheDriverReturnsTooFewGeneratedKeys() throws SQLException {
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        final ResultSet generatedKeys = mock(ResultSet.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenReturn(statement);
+        when(statement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true, false);
+        when(generatedKeys.getObject(1)).thenReturn(1L);
+
+        final JdbcEntityFactory<BasicEntity> factory = new JdbcEntityFactory<>(
+                BasicEntity.class,
+                new JdbcTemplate(dataSource),
+                JdbcEntityMapping.builder(BasicEntity.class)
+                        .column("myLongAttribute", "my_long_attribute")
+                        .generatedId("id", "id")
+                        .build()) {
+        };
+
+        final List<BasicEntity> batch = List.of(new BasicEntity(), new BasicEntity(), new BasicEntity());
+
+        batch.forEach(basicEntity -> basicEntity.setMyLongAttribute(1L));
+
+        final EntityFactoryException exception = assertThrows(EntityFactoryException.class, () -> factory.writeBatch(batch));
+
+        assertTrue(exception.getMessage().contains("Expected 3 generated keys"));
+        assertTrue(exception.getMessage().contains("returned 1"));
+    }
+
+    @Test
+    void writingAnEmptyBatchDoesNothing() throws SQLException {
+        final DataSource dataSource = mock(DataSource.class);
+        final JdbcEntityFactory<BasicEntity> factory = new JdbcEntityFactory<>(
+                BasicEntity.class,
+                new JdbcTemplate(dataSource),
+                JdbcEntityMapping.builder(BasicEntity.class)
+                        .column("myLongAttribute", "my_long_attribute")
+                        .generatedId("id", "id")
+                        .build()) {
+        };
+
+        factory.setMultiRowInserts(true);
+
+        assertTrue(factory.writeBatch(List.of()).isEmpty());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void theSequenceSyntaxIsTakenFromTheDatabase() throws SQLException {
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("PostgreSQL");
+
+        final JdbcEntityFactory<BasicEntity> factory = new JdbcEntityFactory<>(BasicEntity.class, new JdbcTemplate(dataSource)) {
+        };
+
+        assertEquals(
+                "INSERT INTO basic_entity (my_long_attribute, my_string_attribute, id) VALUES (?, ?, nextval('hibernate_sequence'))",
+                factory.mapping.getInsertSql(1));
+    }
+}
@@ -0,0 +1,100 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
+import com.philvigus.dbentityfactories.testfixtures.entities.ParentEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcEntityMappingTest {
+    @Test
+    void mappingsAreDerivedFromJpaAnnotations() {
+        final JdbcEntityMapping<BasicEntity> mapping = JdbcEntityMapping.of(BasicEntity.class);
+
+        assertEquals("basic_entity", mapping.getTableName());
+        assertEquals("id", mapping.getIdProperty());
+        assertTrue(mapping.hasGeneratedId());
+        assertEquals(
+                "INSERT INTO basic_entity (my_long_attribute, my_string_attribute, id) VALUES (?, ?, NEXT VALUE FOR hibernate_sequence)",
+                mapping.getInsertSql(1));
+    }
+
+    @Test
+    void multiRowInsertsRepeatTheValuesForEachRow() {
+        final JdbcEntityMapping<BasicEntity> mapping = JdbcEntityMapping.of(BasicEntity.class);
+
+        assertEquals(
+                "INSERT INTO basic_entity (my_long_attribute, my_string_attribute, id) VALUES (?, ?, NEXT VALUE FOR hibernate_sequence), (?, ?, NEXT VALUE FOR hibernate_sequence)",
+                mapping.getInsertSql(2));
+    }
+
+    @Test
+    void parameterValuesAreReadFromTheEntity() {
+        final JdbcEntityMapping<BasicEntity> mapping = JdbcEntityMapping.of(BasicEntity.class);
+        final BasicEntity basicEntity = new BasicEntity();
+
+        basicEntity.setMyLongAttribute(5L);
+        basicEntity.setMyStringAttribute("a string");
+
+        assertEquals(2, mapping.getParameterCount());
+        assertEquals(5L, mapping.getParameterValue(basicEntity, 0));
+        assertEquals("a string", mapping.getParameterValue(basicEntity, 1));
+    }
+
+    @Test
+    void manyToOneRelationshipsAreMappedToTheRelatedEntitysId() {
+        final JdbcEntityMapping<ChildEntity> mapping = JdbcEntityMapping.of(ChildEntity.class);
+        final ParentEntity parentEntity = new ParentEntity();
+        final ChildEntity childEntity = new ChildEntity();
+
+        parentEntity.setId(12L);
+        childEntity.setParent(parentEntity);
+
+        assertEquals(
+                "INSERT INTO child_entity (parent_id, id) VALUES (?, NEXT VALUE FOR hibernate_sequence)",
+                mapping.getInsertSql(1));
+        assertEquals(12L, mapping.getParameterValue(childEntity, 0));
+    }
+
+    @Test
+    void sequenceIdsUseTheDatabasesSyntax() {
+        assertEquals(
+                "INSERT INTO child_entity (parent_id, id) VALUES (?, nextval('hibernate_sequence'))",
+                JdbcEntityMapping.of(ChildEntity.class, "PostgreSQL").getInsertSql(1));
+        assertEquals(
+                "INSERT INTO child_entity (parent_id, id) VALUES (?, hibernate_sequence.nextval)",
+                JdbcEntityMapping.of(ChildEntity.class, "Oracle").getInsertSql(1));
+        assertEquals(
+                "INSERT INTO child_entity (parent_id, id) VALUES (?, NEXT VALUE FOR hibernate_sequence)",
+                JdbcEntityMapping.of(ChildEntity.class, "Microsoft SQL Server").getInsertSql(1));
+    }
+
+    @Test
+    void sequenceIdsOnADatabaseWithUnknownSyntaxThrowAnException() {
+        assertThrows(EntityFactoryException.class, () -> JdbcEntityMapping.of(ChildEntity.class, "MySQL"));
+    }
+
+    @Test
+    void aMissingDatabaseProductNameIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JdbcEntityMapping.of(ChildEntity.class, null));
+    }
+
+    @Test
+    void mappingsCanBeSpecifiedExplicitly() {
+        final JdbcEntityMapping<BasicEntity> mapping = JdbcEntityMapping.builder(BasicEntity.class)
+                .table("basics")
+                .column("myStringAttribute", "string_value")
+                .generatedId("id", "id")
+                .build();
+
+        assertEquals("INSERT INTO basics (string_value) VALUES (?)", mapping.getInsertSql(1));
+        assertTrue(mapping.hasGeneratedId());
+    }
+
+    @Test
+    void mappingAPropertyThatDoesntExistThrowsAnException() {
+        assertThrows(EntityFactoryException.class, () -> JdbcEntityMapping.builder(BasicEntity.class).column("iDoNotExist", "column"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.philvigus.dbentityfactories.factories;
+
+import com.philvigus.dbentityfactories.examples.entities.NewUser;
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyWritersTest {
+    final PropertyWriters<BasicEntity> basicEntityWriters = new PropertyWriters<>(BasicEntity.class);
+
+    @Test
+    void writersSetPropertiesOfTheMatchingType() {
+        final BasicEntity basicEntity = new BasicEntity();
+
+        basicEntityWriters.getWriter("myLongAttribute").accept(basicEntity, 5L);
+        basicEntityWriters.getWriter("myStringAttribute").accept(basicEntity, "a string");
+
+        assertEquals(5L, basicEntity.getMyLongAttribute());
+        assertEquals("a string", basicEntity.getMyStringAttribute());
+    }
+
+    @Test
+    void writersCanSetPropertiesToNull() {
+        final BasicEntity basicEntity = new BasicEntity();
+        basicEntity.setMyStringAttribute("a string");
+
+        basicEntityWriters.getWriter("myStringAttribute").accept(basicEntity, null);
+
+        assertNull(basicEntity.getMyStringAttribute());
+    }
+
+    @Test
+    void writersConvertValuesOfADifferentType() {
+        final NewUser newUser = new NewUser();
+
+        new PropertyWriters<>(NewUser.class).getWriter("age").accept(newUser, 42);
+
+        assertEquals("42", newUser.getAge());
+    }
+
+    @Test
+    void writersAreOnlyCompiledOnce() {
+        assertSame(basicEntityWriters.getWriter("myLongAttribute"), basicEntityWriters.getWriter("myLongAttribute"));
+    }
+
+    @Test
+    void gettingAWriterForAPropertyThatDoesntExistThrowsAnException() {
+        assertThrows(EntityFactoryException.class, () -> basicEntityWriters.getWriter("iDoNotExist"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.philvigus.dbentityfactories.jfr;
+
+import com.philvigus.dbentityfactories.attributes.CustomAttribute;
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.testfixtures.entities.EntityWithUniqueAttributes;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.BasicEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.EntityWithUniqueAttributesHibernateFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactoryEventsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsEntityCreationAndAttributePopulationEvents() throws IOException {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+
+        final List<RecordedEvent> events = record(() -> factory.create(3));
+
+        final List<RecordedEvent> creations = ofType(events, EntityCreationEvent.NAME);
+        final List<RecordedEvent> populations = ofType(events, AttributePopulationEvent.NAME);
+
+        assertEquals(3, creations.size());
+        assertEquals("com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity",
+                creations.get(0).getClass("entityClass").getName());
+        assertEquals(6, populations.size());
+        assertTrue(populations.stream().allMatch(event -> !event.getBoolean("custom")));
+        assertTrue(populations.stream().anyMatch(event ->
+                BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME.equals(event.getString("attributeName"))));
+    }
+
+    @Test
+    void recordsUniqueValueRetryEvents() throws IOException {
+        final EntityWithUniqueAttributesHibernateFactory factory = new EntityWithUniqueAttributesHibernateFactory(null);
+        final AtomicLong calls = new AtomicLong();
+
+        final BaseEntityFactory<EntityWithUniqueAttributes> view = factory.withCustomAttributes(new CustomAttribute<>(
+                EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME,
+                // each value is supplied twice, so every other value has to be retried
+                () -> "value " + calls.getAndIncrement() / 2));
+
+        final List<RecordedEvent> retries = ofType(record(() -> view.create(10)), UniqueValueRetryEvent.NAME);
+
+        assertEquals(9, retries.size());
+        assertTrue(retries.stream().allMatch(event -> event.getInt("attempts") == 2));
+        assertTrue(retries.stream().allMatch(event ->
+                EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME.equals(event.getString("attributeName"))));
+    }
+
+    @Test
+    void recordsNothingWhenTheEventsAreDisabled() throws IOException {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+        final Path file = tempDir.resolve("disabled.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            factory.create(3);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertFalse(RecordingFile.readAllEvents(file).stream()
+                .anyMatch(event -> event.getEventType().getName().startsWith("com.philvigus.dbentityfactories")));
+    }
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException {
+        final Path file = tempDir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EntityCreationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(AttributePopulationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(UniqueValueRetryEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package com.philvigus.dbentityfactories.metrics;
+
+import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.BasicEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.jdbc.factories.BasicEntityJdbcFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class FactoryMetricsAutoConfigurationTest {
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    BasicEntityHibernateFactory basicEntityHibernateFactory;
+
+    @Autowired
+    BasicEntityJdbcFactory basicEntityJdbcFactory;
+
+    @Test
+    void entityFactoriesAreGivenMicrometerMetrics() {
+        assertInstanceOf(MicrometerFactoryMetrics.class, basicEntityHibernateFactory.getMetrics());
+        assertInstanceOf(MicrometerFactoryMetrics.class, basicEntityJdbcFactory.getMetrics());
+    }
+
+    @Test
+    void creatingEntitiesIsCountedAndTimed() {
+        basicEntityHibernateFactory.create(3);
+        basicEntityHibernateFactory.createParallel(2);
+
+        assertEquals(5, basicEntityMeter(MicrometerFactoryMetrics.CREATED).counter().count());
+        assertEquals(5, basicEntityMeter(MicrometerFactoryMetrics.GENERATION).timer().count());
+    }
+
+    @Test
+    void persistingEntitiesRecordsEachBatch() {
+        basicEntityHibernateFactory.persist(5, 2);
+        basicEntityJdbcFactory.persist(4, 4);
+
+        assertEquals(9, basicEntityMeter(MicrometerFactoryMetrics.PERSISTED).counter().count());
+        assertEquals(4, basicEntityMeter(MicrometerFactoryMetrics.PERSISTENCE).timer().count());
+        assertEquals(4, basicEntityMeter(MicrometerFactoryMetrics.BATCH_SIZE).summary().max());
+        assertEquals(9, basicEntityMeter(MicrometerFactoryMetrics.CREATED).counter().count());
+    }
+
+    @Test
+    void entitiesWithTheSameSimpleNameInDifferentPackagesHaveSeparateMeters() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+
+        new MicrometerFactoryMetrics(registry, java.util.Date.class).recordCreated(1);
+        new MicrometerFactoryMetrics(registry, java.sql.Date.class).recordCreated(1);
+        new MicrometerFactoryMetrics(registry, java.sql.Date.class).recordCreated(1);
+
+        assertEquals(1, registry.get(MicrometerFactoryMetrics.CREATED)
+                .tag(MicrometerFactoryMetrics.ENTITY_TAG, "java.util.Date").counter().count());
+        assertEquals(2, registry.get(MicrometerFactoryMetrics.CREATED)
+                .tag(MicrometerFactoryMetrics.ENTITY_TAG, "java.sql.Date").counter().count());
+    }
+
+    RequiredSearch basicEntityMeter(final String name) {
+        return meterRegistry.get(name).tag(MicrometerFactoryMetrics.ENTITY_TAG, BasicEntity.class.getName());
+    }
+
+    @TestConfiguration
+    static class MeterRegistryConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.philvigus.dbentityfactories.profiling;
+
+import com.philvigus.dbentityfactories.attributes.CustomAttribute;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.BasicEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.EntityWithUniqueAttributesHibernateFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttributeProfilerTest {
+    @Test
+    void recordsCallsAndTimeForEachAttributeRankedByTotalTime() {
+        final AttributeProfiler profiler = new AttributeProfiler();
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+
+        factory.setAttributeProfiler(profiler);
+        factory.create(50);
+
+        final List<AttributeProfiler.Entry> report = profiler.getReport();
+
+        assertEquals(2, report.size());
+        assertEquals(50, report.get(0).getCalls());
+        assertEquals(50, report.get(1).getCalls());
+        assertTrue(report.get(0).getTotalNanos() >= report.get(1).getTotalNanos());
+        assertTrue(report.get(0).getTotalNanos() > 0);
+        assertFalse(report.get(0).isCustom());
+    }
+
+    @Test
+    void recordsUniqueRetriesForDefaultAndCustomAttributes() {
+        final AttributeProfiler profiler = new AttributeProfiler();
+        final EntityWithUniqueAttributesHibernateFactory factory = new EntityWithUniqueAttributesHibernateFactory(null);
+        final AtomicLong calls = new AtomicLong();
+
+        factory.setAttributeProfiler(profiler);
+        factory.withCustomAttributes(new CustomAttribute<>(
+                EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME,
+                // each value is supplied twice, so every other value has to be retried
+                () -> "value " + calls.getAndIncrement() / 2)).create(10);
+
+        final AttributeProfiler.Entry custom = profiler.getReport().stream()
+                .filter(AttributeProfiler.Entry::isCustom)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(10, custom.getCalls());
+        assertEquals(EntityWithUniqueAttributesHibernateFactory.UNIQUE_ATTRIBUTE_NAME, custom.getAttributeName());
+        assertEquals(9, custom.getUniqueRetries());
+    }
+
+    @Test
+    void printsTheRankedReport() {
+        final AttributeProfiler profiler = new AttributeProfiler();
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        factory.setAttributeProfiler(profiler);
+        factory.create(5);
+        profiler.printReport(new PrintStream(output));
+
+        assertTrue(output.toString().contains("BasicEntity." + BasicEntityHibernateFactory.LONG_ATTRIBUTE_NAME));
+        assertTrue(output.toString().contains("BasicEntity." + BasicEntityHibernateFactory.STRING_ATTRIBUTE_NAME));
+
+        profiler.reset();
+
+        assertTrue(profiler.getReport().isEmpty());
+    }
+}
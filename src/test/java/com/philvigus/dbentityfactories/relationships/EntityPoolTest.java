@@ -0,0 +1,145 @@
+package com.philvigus.dbentityfactories.relationships;
+
+import com.philvigus.dbentityfactories.seeding.SeedContext;
+import com.philvigus.dbentityfactories.seeding.Seeds;
+import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
+import com.philvigus.dbentityfactories.testfixtures.entities.ParentEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.ParentEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.PooledChildEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ChildEntityHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ParentEntityHibernateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class EntityPoolTest {
+    @Autowired
+    PooledChildEntityHibernateFactory pooledChildEntityFactory;
+
+    @Autowired
+    ParentEntityHibernateFactory parentEntityFactory;
+
+    @Autowired
+    ChildEntityHibernateRepository childEntityRepository;
+
+    @Autowired
+    ParentEntityHibernateRepository parentEntityRepository;
+
+    @Test
+    void childrenShareAPoolOfParentsPersistedUpFront() {
+        pooledChildEntityFactory.persist(50);
+
+        final Map<Long, Long> childrenPerParent = childEntityRepository.findAll().stream()
+                .collect(Collectors.groupingBy(child -> child.getParent().getId(), Collectors.counting()));
+
+        assertEquals(PooledChildEntityHibernateFactory.PARENT_POOL_SIZE, parentEntityRepository.count());
+        assertEquals(50, childEntityRepository.count());
+        assertEquals(PooledChildEntityHibernateFactory.PARENT_POOL_SIZE, childrenPerParent.size());
+        assertTrue(childrenPerParent.values().stream().allMatch(count -> count == 10));
+    }
+
+    @Test
+    void thePoolIsOnlyFilledOnce() {
+        final ChildEntity first = pooledChildEntityFactory.persist();
+        final ChildEntity second = pooledChildEntityFactory.persist();
+
+        assertEquals(PooledChildEntityHibernateFactory.PARENT_POOL_SIZE, parentEntityRepository.count());
+        assertNotEquals(first.getParent().getId(), second.getParent().getId());
+    }
+
+    @Test
+    void creatingChildrenTakesParentsFromAPoolThatIsntPersisted() {
+        final List<ChildEntity> children = pooledChildEntityFactory.create(10);
+        final Set<ParentEntity> parents = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        children.forEach(child -> parents.add(child.getParent()));
+
+        assertEquals(PooledChildEntityHibernateFactory.PARENT_POOL_SIZE, parents.size());
+        assertTrue(children.stream().allMatch(child -> child.getParent().getId() == null));
+        assertEquals(0, parentEntityRepository.count());
+    }
+
+    @Test
+    void randomPoolsOnlyHandOutPooledEntities() {
+        final EntityPool<ParentEntity> pool = EntityPool.random(parentEntityFactory, 3);
+        final List<Long> pooledIds = pool.getEntities().stream().map(ParentEntity::getId).collect(Collectors.toList());
+
+        assertTrue(IntStream.range(0, 100).mapToObj(i -> pool.get().getId()).allMatch(pooledIds::contains));
+        assertEquals(3, parentEntityRepository.count());
+    }
+
+    @Test
+    void weightedPoolsHandOutEntitiesInProportionToTheirWeights() {
+        final EntityPool<ParentEntity> pool = EntityPool.weighted(parentEntityFactory, 8, 0, 2);
+        final List<ParentEntity> entities = pool.getEntities();
+
+        final Map<Long, Long> counts = IntStream.range(0, 10_000)
+                .mapToObj(i -> pool.get().getId())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertEquals(2, counts.size());
+        assertTrue(counts.get(entities.get(0).getId()) > 7_500 && counts.get(entities.get(0).getId()) < 8_500);
+        assertTrue(counts.get(entities.get(2).getId()) > 1_500 && counts.get(entities.get(2).getId()) < 2_500);
+    }
+
+    @Test
+    void randomAndWeightedPoolsFollowTheEntitySeed() {
+        final EntityPool<ParentEntity> randomPool = EntityPool.random(parentEntityFactory, 10);
+        final EntityPool<ParentEntity> weightedPool = EntityPool.weighted(parentEntityFactory, 1, 2, 3, 4, 5);
+
+        randomPool.getEntities();
+        weightedPool.getEntities();
+
+        assertEquals(takeSeeded(randomPool, 42), takeSeeded(randomPool, 42));
+        assertNotEquals(takeSeeded(randomPool, 42), takeSeeded(randomPool, 43));
+        assertEquals(takeSeeded(weightedPool, 42), takeSeeded(weightedPool, 42));
+        assertNotEquals(takeSeeded(weightedPool, 42), takeSeeded(weightedPool, 43));
+    }
+
+    @Test
+    void clearedPoolsAreRefilled() {
+        final EntityPool<ParentEntity> pool = EntityPool.roundRobin(parentEntityFactory, 2);
+
+        pool.get();
+        pool.clear();
+        pool.get();
+
+        assertEquals(4, parentEntityRepository.count());
+    }
+
+    @Test
+    void invalidPoolsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EntityPool.roundRobin(parentEntityFactory, 0));
+        assertThrows(IllegalArgumentException.class, () -> EntityPool.weighted(parentEntityFactory, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> EntityPool.weighted(parentEntityFactory, 0, 0));
+    }
+
+    private static List<ParentEntity> takeSeeded(final EntityPool<ParentEntity> pool, final long seed) {
+        return IntStream.range(0, 20)
+                .mapToObj(index -> SeedContext.withEntitySeed(Seeds.forEntity(seed, index), () -> {
+                    SeedContext.setAttributeName("parent");
+
+                    return pool.get();
+                }))
+                .collect(Collectors.toList());
+    }
+}
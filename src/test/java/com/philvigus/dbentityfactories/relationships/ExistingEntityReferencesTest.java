@@ -0,0 +1,119 @@
+package com.philvigus.dbentityfactories.relationships;
+
+import com.philvigus.dbentityfactories.attributes.CustomAttribute;
+import com.philvigus.dbentityfactories.exceptions.EntityFactoryException;
+import com.philvigus.dbentityfactories.factories.BaseEntityFactory;
+import com.philvigus.dbentityfactories.testfixtures.entities.ChildEntity;
+import com.philvigus.dbentityfactories.testfixtures.entities.ParentEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.ChildEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.ParentEntityHibernateFactory;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ChildEntityHibernateRepository;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.ParentEntityHibernateRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ExistingEntityReferencesTest {
+    @Autowired
+    ParentEntityHibernateFactory parentEntityFactory;
+
+    @Autowired
+    ChildEntityHibernateFactory childEntityFactory;
+
+    @Autowired
+    ParentEntityHibernateRepository parentEntityRepository;
+
+    @Autowired
+    ChildEntityHibernateRepository childEntityRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void childrenReferToExistingParentsWithoutLoadingThem() {
+        final Set<Long> existingIds = parentEntityFactory.persist(20).stream()
+                .map(ParentEntity::getId)
+                .collect(Collectors.toSet());
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        final BaseEntityFactory<ChildEntity> childrenOfExistingParents = childEntityFactory.withCustomAttributes(
+                new CustomAttribute<>(
+                        ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME,
+                        ExistingEntityReferences.sample(parentEntityFactory, 100, 7)));
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        childrenOfExistingParents.persist(50);
+        childrenOfExistingParents.persist();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(20, parentEntityRepository.count());
+        assertEquals(51, childEntityRepository.count());
+        assertTrue(childEntityRepository.findAll().stream().allMatch(child -> existingIds.contains(child.getParent().getId())));
+    }
+
+    @Test
+    void seededFactoriesReferToTheSameExistingEntitiesEveryRun() {
+        parentEntityFactory.persist(50);
+
+        assertEquals(persistSeededChildrenOfExistingParents(42), persistSeededChildrenOfExistingParents(42));
+        assertNotEquals(persistSeededChildrenOfExistingParents(42), persistSeededChildrenOfExistingParents(43));
+    }
+
+    @Test
+    void onlyTheReservoirSizeOfIdsAreSampled() {
+        parentEntityFactory.persist(30);
+
+        final ExistingEntityReferences<ParentEntity> references = ExistingEntityReferences.sample(parentEntityFactory, 10);
+
+        assertEquals(10, references.getSampledCount());
+
+        parentEntityFactory.persist(5);
+        references.refresh();
+
+        assertEquals(10, references.getSampledCount());
+        assertEquals(35, parentEntityRepository.count());
+    }
+
+    @Test
+    void referringToATableWithNoEntitiesThrowsAnException() {
+        final ExistingEntityReferences<ParentEntity> references = ExistingEntityReferences.sample(parentEntityFactory, 10);
+
+        assertThrows(EntityFactoryException.class, references::get);
+        assertThrows(IllegalArgumentException.class, () -> ExistingEntityReferences.sample(parentEntityFactory, 0));
+    }
+
+    private List<Long> persistSeededChildrenOfExistingParents(final long seed) {
+        final long existingChildren = childEntityRepository.count();
+
+        childEntityFactory.setSeed(seed);
+        childEntityFactory.withCustomAttributes(
+                new CustomAttribute<>(
+                        ChildEntityHibernateFactory.PARENT_ATTRIBUTE_NAME,
+                        ExistingEntityReferences.sample(parentEntityFactory, 10)))
+                .persist(20);
+
+        return childEntityRepository.findAll(Sort.by("id")).stream()
+                .skip(existingChildren)
+                .map(child -> child.getParent().getId())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.philvigus.dbentityfactories.seeding;
+
+import com.philvigus.dbentityfactories.attributes.DefaultAttribute;
+import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.factories.BasicEntityHibernateFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeededGenerationTest {
+    @Test
+    void theSameSeedProducesTheSameEntities() {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+
+        factory.setSeed(42);
+        final List<String> first = describe(factory.create(20));
+
+        factory.setSeed(42);
+        final List<String> second = describe(factory.create(20));
+
+        factory.setSeed(43);
+        final List<String> other = describe(factory.create(20));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void parallelCreationProducesTheSameEntitiesAsSequentialCreation() {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        factory.setSeed(7);
+        final List<String> sequential = describe(factory.create(200));
+
+        factory.setSeed(7);
+        final List<String> parallel = describe(factory.createParallel(200, pool));
+
+        pool.shutdown();
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void rangesOfEntitiesCanBeCreatedIndependently() {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+
+        factory.setSeed(99);
+        final List<String> whole = describe(factory.create(30));
+
+        final List<String> partitioned = new ArrayList<>();
+
+        factory.setSeed(99, 20);
+        final List<String> lastPartition = describe(factory.create(10));
+        factory.setSeed(99, 0);
+        partitioned.addAll(describe(factory.create(20)));
+        partitioned.addAll(lastPartition);
+
+        assertEquals(whole, partitioned);
+    }
+
+    @Test
+    void clearingTheSeedMakesValuesRandomAgain() {
+        final BasicEntityHibernateFactory factory = new BasicEntityHibernateFactory(null);
+
+        factory.setSeed(1);
+        final List<String> seeded = describe(factory.create(20));
+
+        factory.clearSeed();
+
+        assertFalse(factory.getSeed().isPresent());
+        assertNotEquals(seeded, describe(factory.create(20)));
+    }
+
+    @Test
+    void seededAttributesRetryUniqueValuesWithinTheSameSequence() {
+        final DefaultAttribute<Integer> attribute = new DefaultAttribute<>(
+                "value", new SeededSupplier<>("value", faker -> faker.number().numberBetween(0, 3)), true);
+
+        final List<Integer> values = SeedContext.withEntitySeed(5, () -> List.of(
+                attribute.getValue(), attribute.getValue(), attribute.getValue()));
+
+        assertEquals(3, values.stream().distinct().count());
+    }
+
+    @Test
+    void seededRandomsRepeatTheirSequenceWhenReseeded() {
+        final Random random = new SeededRandom(3);
+        final List<Integer> first = List.of(random.nextInt(100), random.nextInt(100), random.nextInt(100));
+
+        random.setSeed(3);
+
+        assertEquals(first, List.of(random.nextInt(100), random.nextInt(100), random.nextInt(100)));
+        assertTrue(first.stream().allMatch(value -> value >= 0 && value < 100));
+    }
+
+    private static List<String> describe(final List<BasicEntity> entities) {
+        return entities.stream()
+                .map(entity -> entity.getMyLongAttribute() + " " + entity.getMyStringAttribute())
+                .collect(Collectors.toList());
+    }
+}
@@ -1,17 +1,28 @@
 package com.philvigus.dbentityfactories.testfixtures.jdbc.factories;
 
+import com.philvigus.dbentityfactories.factories.PersistSummary;
 import com.philvigus.dbentityfactories.testfixtures.entities.BasicEntity;
+import com.philvigus.dbentityfactories.testfixtures.hibernate.repositories.BasicEntityHibernateRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 class BasicEntityJdbcFactoryTest {
     @Autowired
     BasicEntityJdbcFactory basicEntityJdbcFactory;
 
+    @Autowired
+    BasicEntityHibernateRepository basicEntityRepository;
+
     @Test
     void persistShouldCreateAndSaveABasicEntityToTheDatabase() {
         BasicEntity savedBasicEntity = basicEntityJdbcFactory.persist();
@@ -19,5 +30,54 @@ class BasicEntityJdbcFactoryTest {
         assertNotNull(savedBasicEntity.getId());
         assertNotNull(savedBasicEntity.getMyStringAttribute());
         assertNotNull(savedBasicEntity.getMyLongAttribute());
+        assertTrue(basicEntityRepository.findById(savedBasicEntity.getId()).isPresent());
+    }
+
+    @Test
+    void persistShouldSaveMultipleEntitiesInBatchesAndSetTheirIds() {
+        final int numberOfEntities = 5;
+
+        final List<BasicEntity> savedBasicEntities = basicEntityJdbcFactory.persist(numberOfEntities, 2);
+
+        assertSavedWithDistinctIds(numberOfEntities, savedBasicEntities);
+    }
+
+    @Test
+    void persistShouldSaveMultipleEntitiesWithMultiRowInsertsAndSetTheirIds() {
+        final int numberOfEntities = 5;
+
+        basicEntityJdbcFactory.setMultiRowInserts(true);
+
+        final List<BasicEntity> savedBasicEntities = basicEntityJdbcFactory.persist(numberOfEntities, 2);
+
+        assertSavedWithDistinctIds(numberOfEntities, savedBasicEntities);
+    }
+
+    @Test
+    void persistCountShouldSaveEntitiesAndRecordTheirIdRange() {
+        final int numberOfEntities = 5;
+
+        final PersistSummary summary = basicEntityJdbcFactory.persistCount(numberOfEntities, PersistSummary.IdCollection.RANGE);
+
+        assertEquals(numberOfEntities, summary.getRowsWritten());
+        assertEquals(numberOfEntities, basicEntityRepository.count());
+        assertEquals(numberOfEntities - 1, summary.getMaxId() - summary.getMinId());
+        assertFalse(summary.hasIds());
+    }
+
+    @Test
+    void persistThrowsAnExceptionIfCopiesOrTheBatchSizeIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> basicEntityJdbcFactory.persist(0));
+        assertThrows(IllegalArgumentException.class, () -> basicEntityJdbcFactory.persist(1, 0));
+    }
+
+    void assertSavedWithDistinctIds(final int numberOfEntities, final List<BasicEntity> savedBasicEntities) {
+        final List<BasicEntity> entitiesInDatabase = basicEntityRepository.findAll();
+
+        assertEquals(numberOfEntities, savedBasicEntities.size());
+        assertEquals(numberOfEntities, entitiesInDatabase.size());
+        assertEquals(numberOfEntities, savedBasicEntities.stream().map(BasicEntity::getId).distinct().count());
+
+        savedBasicEntities.forEach(basicEntity -> assertTrue(entitiesInDatabase.contains(basicEntity)));
     }
 }